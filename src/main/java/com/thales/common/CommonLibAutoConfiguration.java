@@ -1,22 +1,15 @@
 package com.thales.common;
 
-import com.thales.common.cache.CacheConfiguration;
-import org.springframework.boot.autoconfigure.AutoConfigureBefore;
-import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
-import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
-import org.springframework.context.annotation.ComponentScan;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Import;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
- * Auto-configuration class for common lib
- * Used for Spring Boot auto-configuration
+ * Auto-configuration class for common lib.
+ * The library's features are split into fine-grained auto-configurations registered in
+ * META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports,
+ * each guarded by its own conditions; this class only contributes the AOT runtime hints.
  */
-@Configuration
-@ComponentScan(basePackages = "com.thales.common")
-@Import({CacheConfiguration.class})
-@AutoConfigureBefore(RedisAutoConfiguration.class)
-@ImportAutoConfiguration(exclude = {RedisAutoConfiguration.class})
+@AutoConfiguration
+@ImportRuntimeHints(CommonLibRuntimeHints.class)
 public class CommonLibAutoConfiguration {
-    // Empty class for auto-configuration, component scan is sufficient
-} 
\ No newline at end of file
+}
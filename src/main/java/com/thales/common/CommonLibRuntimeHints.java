@@ -0,0 +1,37 @@
+package com.thales.common;
+
+import com.thales.common.web.CachedHttpResponse;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+
+/**
+ * Runtime hints for Spring AOT / native images: resources and types the library
+ * loads or (de)serializes reflectively.
+ */
+class CommonLibRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Pre-built OpenAPI document served by PrebuiltOpenApiController
+        hints.resources().registerPattern("openapi/openapi.json");
+
+        // Cached HTTP responses are stored with JDK or JSON serialization depending on the cache type
+        hints.serialization().registerType(CachedHttpResponse.class);
+        hints.serialization().registerType(LinkedHashMap.class);
+        hints.reflection().registerType(CachedHttpResponse.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // Connections and statements of profiled requests are proxied by RoutingDataSource
+        hints.proxies().registerJdkProxy(Connection.class);
+        hints.proxies().registerJdkProxy(Statement.class);
+        hints.proxies().registerJdkProxy(PreparedStatement.class);
+        hints.proxies().registerJdkProxy(CallableStatement.class);
+    }
+}
@@ -0,0 +1,28 @@
+package com.thales.common.cache;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking write operations of a cache whose backing store has an asynchronous client.
+ * Implemented by caches created by the library so that {@link AsyncCacheUtil} can issue
+ * writes without parking the calling thread.
+ */
+public interface AsyncCacheOperations {
+
+    /**
+     * Stores a value.
+     *
+     * @param key the key to store under
+     * @param value the value to store
+     * @return a future completed once the store has acknowledged the write
+     */
+    CompletableFuture<Void> putAsync(Object key, Object value);
+
+    /**
+     * Removes an entry.
+     *
+     * @param key the key to remove
+     * @return a future completed once the store has acknowledged the removal
+     */
+    CompletableFuture<Void> evictAsync(Object key);
+}
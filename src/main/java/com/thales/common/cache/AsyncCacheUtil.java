@@ -0,0 +1,283 @@
+package com.thales.common.cache;
+
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of {@link CacheUtil}: every operation returns a {@link CompletableFuture}
+ * so cache lookups can overlap with other I/O.
+ * <p>
+ * Reads use {@link Cache#retrieve(Object)}, which is served by Caffeine's {@code AsyncCache} in
+ * IN_MEMORY mode and by Lettuce in REDIS mode. Writes to Redis go through {@link AsyncRedisCache};
+ * writes to local caches complete immediately. Caches without an asynchronous client fall back to
+ * their blocking operations on a virtual thread. Inside a transaction, writes to transaction-aware
+ * caches go through the decorated cache on the calling thread, so they are still applied after commit.
+ * <p>
+ * Reactor callers can adapt the results with {@code Mono.fromFuture(...)}.
+ */
+public class AsyncCacheUtil implements DisposableBean {
+
+    private static final boolean CAFFEINE_PRESENT =
+            ClassUtils.isPresent("com.github.benmanes.caffeine.cache.Caffeine", AsyncCacheUtil.class.getClassLoader());
+
+    /**
+     * The underlying CacheManager.
+     */
+    @Getter
+    private final CacheManager cacheManager;
+
+    private final ExecutorService fallbackExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-cache-", 0).factory());
+
+    public AsyncCacheUtil(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Retrieves a value from a cache.
+     *
+     * @param <T> the type of value to retrieve
+     * @param cacheName the name of the cache
+     * @param key the key to look up
+     * @param type the expected type of the value
+     * @return a future completed with the value if found and of the correct type, or with null
+     */
+    public <T> CompletableFuture<T> get(String cacheName, Object key, Class<T> type) {
+        Cache cache = getCache(cacheName, key);
+        if (cache == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return retrieve(cache, key).thenApply(value -> type.isInstance(value) ? type.cast(value) : null);
+    }
+
+    /**
+     * Retrieves several values from a cache. The lookups are issued concurrently; with Lettuce
+     * they are pipelined over the shared connection.
+     *
+     * @param <T> the type of values to retrieve
+     * @param cacheName the name of the cache
+     * @param keys the keys to look up
+     * @param type the expected type of the values
+     * @return a future completed with the values found, keyed by the requested keys, in request order
+     */
+    public <T> CompletableFuture<Map<Object, T>> getAll(String cacheName, Collection<?> keys, Class<T> type) {
+        if (keys == null || keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        List<?> keyList = List.copyOf(keys);
+        List<CompletableFuture<T>> lookups = keyList.stream().map(key -> get(cacheName, key, type)).toList();
+        return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            Map<Object, T> values = new LinkedHashMap<>();
+            for (int i = 0; i < keyList.size(); i++) {
+                T value = lookups.get(i).join();
+                if (value != null) {
+                    values.put(keyList.get(i), value);
+                }
+            }
+            return values;
+        });
+    }
+
+    /**
+     * Retrieves a value from a cache, loading and storing it on a miss. Concurrent loads of the
+     * same key are deduplicated by Caffeine in IN_MEMORY mode.
+     *
+     * @param <T> the type of value to retrieve
+     * @param cacheName the name of the cache
+     * @param key the key to look up
+     * @param loader asynchronous loader invoked on a miss
+     * @return a future completed with the cached or loaded value
+     */
+    public <T> CompletableFuture<T> getOrLoad(String cacheName, Object key, Supplier<CompletableFuture<T>> loader) {
+        Cache cache = getCache(cacheName, key);
+        if (cache == null) {
+            return loader.get();
+        }
+        try {
+            return cache.retrieve(key, loader);
+        } catch (IllegalStateException | UnsupportedOperationException e) {
+            return get(cacheName, key, Object.class).thenCompose(cached -> {
+                if (cached != null) {
+                    @SuppressWarnings("unchecked")
+                    T value = (T) cached;
+                    return CompletableFuture.completedFuture(value);
+                }
+                return loader.get().thenCompose(loaded -> loaded == null && !CacheDecorators.allowsNullValues(cache)
+                        ? CompletableFuture.completedFuture(null)
+                        : put(cacheName, key, loaded).thenApply(ignored -> loaded));
+            });
+        }
+    }
+
+    /**
+     * Stores a value in a cache.
+     *
+     * @param cacheName the name of the cache
+     * @param key the key to store under
+     * @param value the value to store
+     * @return a future completed once the value has been stored
+     */
+    public CompletableFuture<Void> put(String cacheName, Object key, Object value) {
+        return put(cacheName, key, value, false);
+    }
+
+    /**
+     * Stores a value in a cache, optionally writing a Redis cache with an asynchronous client directly,
+     * without its circuit breaker.
+     */
+    CompletableFuture<Void> put(String cacheName, Object key, Object value, boolean bypassCircuitBreaker) {
+        Cache cache = getCache(cacheName, key);
+        if (cache == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (deferredToTransaction(cache)) {
+            return runInline(() -> cache.put(key, value));
+        }
+        if (asyncTarget(cache, bypassCircuitBreaker) instanceof AsyncCacheOperations operations) {
+            KnownKeyFilteringCache knownKeys = CacheDecorators.knownKeyFilter(cache);
+            if (knownKeys != null && value != null) {
+                knownKeys.addKnownKey(key);
+            }
+            return ProfilingCache.record(() -> operations.putAsync(key, value));
+        }
+        return run(cache, () -> cache.put(key, value));
+    }
+
+    /**
+     * Removes a specific entry from a cache.
+     *
+     * @param cacheName the name of the cache
+     * @param key the key to remove
+     * @return a future completed once the entry has been removed
+     */
+    public CompletableFuture<Void> evict(String cacheName, Object key) {
+        return evict(cacheName, key, false);
+    }
+
+    /**
+     * Removes an entry from a cache, optionally evicting it from a Redis cache with an asynchronous client
+     * directly, without its circuit breaker.
+     */
+    CompletableFuture<Void> evict(String cacheName, Object key, boolean bypassCircuitBreaker) {
+        Cache cache = getCache(cacheName, key);
+        if (cache == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (deferredToTransaction(cache)) {
+            return runInline(() -> cache.evict(key));
+        }
+        if (asyncTarget(cache, bypassCircuitBreaker) instanceof AsyncCacheOperations operations) {
+            return ProfilingCache.record(() -> operations.evictAsync(key));
+        }
+        return run(cache, () -> cache.evict(key));
+    }
+
+    @Override
+    public void destroy() {
+        fallbackExecutor.shutdown();
+    }
+
+    private Cache getCache(String cacheName, Object key) {
+        if (cacheManager == null || cacheName == null || key == null) return null;
+        return cacheManager.getCache(cacheName);
+    }
+
+    /**
+     * @return a future completed with the unwrapped cached value, or null on a miss
+     */
+    private CompletableFuture<Object> retrieve(Cache cache, Object key) {
+        CompletableFuture<?> result;
+        try {
+            result = cache.retrieve(key);
+        } catch (IllegalStateException | UnsupportedOperationException e) {
+            // No asynchronous retrieval for this cache (e.g. Caffeine not in async mode)
+            return supply(cache, () -> unwrapValue(cache.get(key)));
+        }
+        return result == null ? CompletableFuture.completedFuture(null) : result.thenApply(AsyncCacheUtil::unwrapValue);
+    }
+
+    private static Object unwrapValue(Object value) {
+        return value instanceof Cache.ValueWrapper wrapper ? wrapper.get() : value;
+    }
+
+    /**
+     * @return the innermost cache, or the Redis cache behind its circuit breaker when bypassing it and
+     * the Redis cache has asynchronous operations
+     */
+    private static Cache asyncTarget(Cache cache, boolean bypassCircuitBreaker) {
+        Cache target = CacheDecorators.target(cache);
+        if (bypassCircuitBreaker && target instanceof CircuitBreakingCache circuitBreaking
+                && circuitBreaking.getTargetCache() instanceof AsyncCacheOperations) {
+            return circuitBreaking.getTargetCache();
+        }
+        return target;
+    }
+
+    /**
+     * Transaction synchronizations are bound to the calling thread, so such writes cannot be moved to another one.
+     */
+    private static boolean deferredToTransaction(Cache cache) {
+        return TransactionSynchronizationManager.isSynchronizationActive() && CacheDecorators.isTransactionAware(cache);
+    }
+
+    private static CompletableFuture<Void> runInline(Runnable operation) {
+        try {
+            operation.run();
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> run(Cache cache, Runnable operation) {
+        return supply(cache, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> supply(Cache cache, Supplier<T> operation) {
+        if (isLocal(CacheDecorators.target(cache))) {
+            try {
+                return CompletableFuture.completedFuture(operation.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        try {
+            return CompletableFuture.supplyAsync(operation, fallbackExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean isLocal(Cache cache) {
+        return cache instanceof ConcurrentMapCache || (CAFFEINE_PRESENT && CaffeineSupport.isCaffeineCache(cache));
+    }
+
+    /**
+     * Keeps the Caffeine type reference out of {@link AsyncCacheUtil} for applications without Caffeine.
+     */
+    private static final class CaffeineSupport {
+
+        private static boolean isCaffeineCache(Cache cache) {
+            return cache instanceof CaffeineCache;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.thales.common.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link RedisCache} that also writes through the asynchronous Lettuce API.
+ * <p>
+ * Reads already go through Lettuce via {@link #retrieve(Object)}; puts use
+ * {@link RedisCacheWriter#store} and evictions a reactive {@code DEL}, so neither blocks the caller.
+ * Key prefixing, serialization and TTL resolution are the same as for the blocking operations.
+ * <p>
+ * When a {@link CacheAccessSampler} is given, key accesses and the serialized size of every value
+ * read or written are reported to it.
+ */
+public class AsyncRedisCache extends RedisCache implements AsyncCacheOperations {
+
+    private final RedisPartitions partitions;
+    private final CacheAccessSampler sampler;
+
+    /**
+     * @param partitions the Redis nodes of the cache; their connection factories must be reactive
+     */
+    protected AsyncRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+                              RedisPartitions partitions, CacheAccessSampler sampler) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.partitions = partitions;
+        this.sampler = sampler;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        recordAccess(key);
+        return super.lookup(key);
+    }
+
+    @Override
+    public CompletableFuture<ValueWrapper> retrieve(Object key) {
+        recordAccess(key);
+        return super.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        recordAccess(key);
+        return super.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        recordAccess(key);
+        getCacheWriter().put(getName(), binaryKey(key), serializeValue(key, value), timeToLive(key, value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        recordAccess(key);
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        recordAccess(key);
+        byte[] binaryValue;
+        try {
+            binaryValue = serializeValue(key, value);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return getCacheWriter().store(getName(), binaryKey(key), binaryValue, timeToLive(key, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> evictAsync(Object key) {
+        byte[] cacheKey = binaryKey(key);
+        ReactiveRedisConnection connection =
+                ((ReactiveRedisConnectionFactory) partitions.forKey(cacheKey)).getReactiveConnection();
+        return connection.keyCommands().del(ByteBuffer.wrap(cacheKey))
+                .doFinally(signal -> connection.close())
+                .then()
+                .toFuture();
+    }
+
+    @Override
+    protected Object deserializeCacheValue(byte[] value) {
+        if (sampler != null) {
+            sampler.recordValueSize(getName(), null, value.length);
+        }
+        return super.deserializeCacheValue(value);
+    }
+
+    RedisPartitions getPartitions() {
+        return partitions;
+    }
+
+    byte[] binaryKey(Object key) {
+        return serializeCacheKey(createCacheKey(key));
+    }
+
+    Duration timeToLive(Object key, Object value) {
+        return getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+    }
+
+    /**
+     * Serializes a value the way {@link #put} stores it, rejecting nulls unless the cache allows them.
+     */
+    byte[] serializeValue(Object key, Object value) {
+        Object cacheValue = preProcessCacheValue(value);
+        if (cacheValue == null) {
+            throw new IllegalArgumentException(
+                    "Cache '" + getName() + "' does not allow 'null' values; avoid storing null or configure the cache to allow it");
+        }
+        byte[] binaryValue = serializeCacheValue(cacheValue);
+        if (sampler != null) {
+            sampler.recordValueSize(getName(), key, binaryValue.length);
+        }
+        return binaryValue;
+    }
+
+    void recordAccess(Object key) {
+        if (sampler != null) {
+            sampler.recordAccess(getName(), key);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.thales.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.util.ClassUtils;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link RedisCacheManager} creating {@link AsyncRedisCache} instances when the connection
+ * factory has a reactive (Lettuce) client; otherwise plain {@link RedisCache}s are created.
+ * Given {@link RedisPartitions} with several nodes, keys are distributed across the nodes.
+ * Accesses to {@link AsyncRedisCache}s are reported to the {@link CacheAccessSampler}, if any,
+ * and caches with a Bloom filter are guarded by the {@link KnownKeyFilters}.
+ * <p>
+ * Caches named in {@link #setWriteBehind write-behind} are created as {@link WriteBehindRedisCache}s,
+ * flushed every {@code max-delay} by a single background thread and once more when the manager is
+ * destroyed. With a {@link #setCircuitBreaker circuit breaker}, every cache is wrapped in a
+ * {@link CircuitBreakingCache}; the caches share one {@link CacheCircuitBreaker} per Redis node.
+ */
+@Slf4j
+public class AsyncRedisCacheManager extends RedisCacheManager implements DisposableBean {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final boolean CAFFEINE_PRESENT =
+            ClassUtils.isPresent("com.github.benmanes.caffeine.cache.Caffeine", AsyncRedisCacheManager.class.getClassLoader());
+
+    private final RedisPartitions partitions;
+    private final boolean reactive;
+    private final CacheAccessSampler sampler;
+    private final KnownKeyFilters knownKeyFilters;
+    private final List<WriteBehindRedisCache> writeBehindCaches = new CopyOnWriteArrayList<>();
+    private CacheProperties.WriteBehind writeBehind;
+    private ScheduledExecutorService flushScheduler;
+    private CacheProperties.CircuitBreaker circuitBreakerProperties;
+    private final Map<RedisConnectionFactory, CacheCircuitBreaker> circuitBreakers = new IdentityHashMap<>();
+    private boolean requestProfiling;
+
+    /**
+     * @param sampler receives key accesses and value sizes; may be null
+     * @param knownKeyFilters guards caches with a Bloom filter; may be null
+     */
+    public AsyncRedisCacheManager(RedisConnectionFactory connectionFactory, RedisCacheConfiguration defaultCacheConfiguration,
+                                  Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+                                  CacheAccessSampler sampler, KnownKeyFilters knownKeyFilters) {
+        this(RedisPartitions.single(connectionFactory), defaultCacheConfiguration, initialCacheConfigurations,
+                sampler, knownKeyFilters);
+    }
+
+    /**
+     * @param partitions the Redis nodes cache keys are distributed across
+     * @param sampler receives key accesses and value sizes; may be null
+     * @param knownKeyFilters guards caches with a Bloom filter; may be null
+     */
+    public AsyncRedisCacheManager(RedisPartitions partitions, RedisCacheConfiguration defaultCacheConfiguration,
+                                  Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+                                  CacheAccessSampler sampler, KnownKeyFilters knownKeyFilters) {
+        this(partitions, createCacheWriter(partitions), defaultCacheConfiguration, initialCacheConfigurations,
+                sampler, knownKeyFilters);
+    }
+
+    private AsyncRedisCacheManager(RedisPartitions partitions, RedisCacheWriter cacheWriter,
+                                   RedisCacheConfiguration defaultCacheConfiguration,
+                                   Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+                                   CacheAccessSampler sampler, KnownKeyFilters knownKeyFilters) {
+        super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations);
+        this.partitions = partitions;
+        this.sampler = sampler;
+        this.knownKeyFilters = knownKeyFilters;
+        this.reactive = cacheWriter.supportsAsyncRetrieve() && partitions.getConnectionFactories().stream()
+                .allMatch(ReactiveRedisConnectionFactory.class::isInstance);
+    }
+
+    private static RedisCacheWriter createCacheWriter(RedisPartitions partitions) {
+        return partitions.isPartitioned()
+                ? new PartitionedRedisCacheWriter(partitions)
+                : RedisCacheWriter.nonLockingRedisCacheWriter(partitions.getConnectionFactories().get(0));
+    }
+
+    /**
+     * Sets the caches whose writes are batched; must be called before the caches are created.
+     * Requires a Lettuce connection factory, otherwise writes stay synchronous.
+     */
+    public void setWriteBehind(CacheProperties.WriteBehind writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Guards the caches with a circuit breaker per Redis node; must be called before the caches are created.
+     * Without a Lettuce client, the node of a key is not known and one circuit breaker guards all nodes.
+     */
+    public void setCircuitBreaker(CacheProperties.CircuitBreaker circuitBreakerProperties) {
+        this.circuitBreakerProperties = circuitBreakerProperties;
+        CacheCircuitBreaker shared = partitions.isPartitioned() && reactive
+                ? null
+                : new CacheCircuitBreaker("redis", circuitBreakerProperties);
+        for (RedisConnectionFactory node : partitions.getConnectionFactories()) {
+            circuitBreakers.put(node, shared != null
+                    ? shared
+                    : new CacheCircuitBreaker("redis " + partitions.getNodeId(node), circuitBreakerProperties));
+        }
+    }
+
+    /**
+     * Wraps caches in a {@link ProfilingCache}; must be called before the caches are created.
+     */
+    public void setRequestProfiling(boolean requestProfiling) {
+        this.requestProfiling = requestProfiling;
+    }
+
+    /**
+     * @return the circuit breakers shared by all caches, one per Redis node; empty if there are none
+     */
+    public List<CacheCircuitBreaker> getCircuitBreakers() {
+        return circuitBreakers.values().stream().distinct().toList();
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        if (!reactive) {
+            if (isWriteBehind(name)) {
+                log.warn("Write-behind requires a Lettuce connection factory; writes to cache '{}' stay synchronous", name);
+            }
+            return super.createRedisCache(name, cacheConfiguration);
+        }
+        if (isWriteBehind(name)) {
+            WriteBehindRedisCache cache = new WriteBehindRedisCache(name, getCacheWriter(), cacheConfiguration,
+                    partitions, sampler, writeBehind, flushScheduler());
+            long delay = writeBehind.getMaxDelay().toMillis();
+            flushScheduler().scheduleWithFixedDelay(cache::flush, delay, delay, TimeUnit.MILLISECONDS);
+            writeBehindCaches.add(cache);
+            return cache;
+        }
+        return new AsyncRedisCache(name, getCacheWriter(), cacheConfiguration, partitions, sampler);
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        if (!circuitBreakers.isEmpty()) {
+            cache = new CircuitBreakingCache(cache, circuitBreakerFor(cache), getCircuitBreakers(),
+                    createFallback(cache.getName()), circuitBreakerProperties);
+        }
+        cache = super.decorateCache(knownKeyFilters != null ? knownKeyFilters.decorate(cache) : cache);
+        return requestProfiling ? new ProfilingCache(cache) : cache;
+    }
+
+    /**
+     * Stops queueing writes and the background flushes, and writes what is still pending.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        ScheduledExecutorService scheduler;
+        synchronized (this) {
+            scheduler = flushScheduler;
+        }
+        if (scheduler == null) {
+            return;
+        }
+        writeBehindCaches.forEach(WriteBehindRedisCache::close);
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Write-behind flush did not stop within {}s", SHUTDOWN_TIMEOUT_SECONDS);
+        }
+        for (WriteBehindRedisCache cache : writeBehindCaches) {
+            cache.flush();
+            if (cache.getPendingCount() > 0) {
+                log.error("{} pending writes to cache '{}' could not be flushed on shutdown",
+                        cache.getPendingCount(), cache.getName());
+            }
+        }
+    }
+
+    private Function<Object, CacheCircuitBreaker> circuitBreakerFor(Cache cache) {
+        if (partitions.isPartitioned() && cache instanceof AsyncRedisCache redisCache) {
+            return key -> circuitBreakers.get(partitions.forKey(redisCache.binaryKey(key)));
+        }
+        CacheCircuitBreaker circuitBreaker = circuitBreakers.get(partitions.getConnectionFactories().get(0));
+        return key -> circuitBreaker;
+    }
+
+    private Cache createFallback(String name) {
+        if (circuitBreakerProperties.getFallback() != CacheProperties.CircuitBreaker.Fallback.LOCAL) {
+            return null;
+        }
+        if (!CAFFEINE_PRESENT) {
+            log.warn("Caffeine is not on the classpath; cache '{}' answers misses while its circuit is open", name);
+            return null;
+        }
+        return CaffeineFallback.create(name, circuitBreakerProperties);
+    }
+
+    private boolean isWriteBehind(String name) {
+        return writeBehind != null && writeBehind.getCaches().contains(name);
+    }
+
+    private synchronized ScheduledExecutorService flushScheduler() {
+        if (flushScheduler == null) {
+            flushScheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("cache-write-behind").daemon().factory());
+        }
+        return flushScheduler;
+    }
+
+    /**
+     * Keeps Caffeine types out of the manager, Caffeine being optional.
+     */
+    private static final class CaffeineFallback {
+
+        private static Cache create(String name, CacheProperties.CircuitBreaker properties) {
+            return new CaffeineCache(name, Caffeine.newBuilder()
+                    .maximumSize(properties.getFallbackMaximumSize())
+                    .expireAfterAccess(properties.getFallbackTtl())
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.thales.common.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over string keys, using Kirsch-Mitzenmacher double hashing.
+ * Adding is lock-free; a lookup can return a false positive but never a false negative.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray((int) ((bitCount + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Sizes the filter for the given number of keys and false positive probability.
+     */
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs expectedInsertions > 0 and falsePositiveRate in (0, 1)");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        bits = Math.min(Math.max(bits, Long.SIZE), (long) Integer.MAX_VALUE * Long.SIZE);
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * ln2));
+        return new BloomFilter(bits, hashes);
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    void put(String key) {
+        set(bits(key));
+    }
+
+    boolean mightContain(String key) {
+        return containsAll(bits(key));
+    }
+
+    /**
+     * @return the positions of the bits a key sets
+     */
+    long[] bits(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 + 0x9E3779B97F4A7C15L);
+        long[] bits = new long[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            bits[i] = Math.floorMod(hash1 + i * hash2, bitCount);
+        }
+        return bits;
+    }
+
+    void set(long[] bits) {
+        for (long bit : bits) {
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(index) & mask) == 0) {
+                words.getAndAccumulate(index, mask, (current, set) -> current | set);
+            }
+        }
+    }
+
+    boolean containsAll(long[] bits) {
+        for (long bit : bits) {
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds every key of a filter of the same size to this one.
+     */
+    void merge(BloomFilter other) {
+        if (other.bitCount != bitCount || other.hashCount != hashCount) {
+            throw new IllegalArgumentException("Only Bloom filters of the same size can be merged");
+        }
+        for (int i = 0; i < words.length(); i++) {
+            long bits = other.words.get(i);
+            if (bits != 0) {
+                words.getAndAccumulate(i, bits, (current, set) -> current | set);
+            }
+        }
+    }
+
+    /**
+     * @return the bits in Redis bitmap layout: bit {@code n} is the {@code n % 8}-th most significant bit of byte {@code n / 8}
+     */
+    byte[] toBitmap() {
+        byte[] bitmap = new byte[(int) ((bitCount + Byte.SIZE - 1) / Byte.SIZE)];
+        for (int i = 0; i < words.length(); i++) {
+            long word = words.get(i);
+            while (word != 0) {
+                long bit = (long) i * Long.SIZE + Long.numberOfTrailingZeros(word);
+                bitmap[(int) (bit >>> 3)] |= (byte) (0x80 >>> (bit & 7));
+                word &= word - 1;
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds the bits of a Redis bitmap written by {@link #toBitmap()} of a filter of the same size.
+     */
+    void merge(byte[] bitmap) {
+        int length = (int) Math.min(bitmap.length, (bitCount + Byte.SIZE - 1) / Byte.SIZE);
+        for (int i = 0; i < length; i++) {
+            int value = bitmap[i] & 0xFF;
+            while (value != 0) {
+                int offset = Integer.numberOfLeadingZeros(value) - (Integer.SIZE - Byte.SIZE);
+                long bit = (long) i * Byte.SIZE + offset;
+                if (bit < bitCount) {
+                    words.getAndAccumulate((int) (bit >>> 6), 1L << bit, (current, set) -> current | set);
+                }
+                value &= ~(0x80 >>> offset);
+            }
+        }
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 64-bit mixer.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
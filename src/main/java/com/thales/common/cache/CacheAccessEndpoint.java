@@ -0,0 +1,44 @@
+package com.thales.common.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint ({@code /actuator/cacheaccess}) reporting the hottest keys and the value size
+ * distribution of every cache, as collected by the {@link CacheAccessSampler}.
+ */
+@Endpoint(id = "cacheaccess")
+public class CacheAccessEndpoint {
+
+    private final CacheAccessSampler sampler;
+
+    public CacheAccessEndpoint(CacheAccessSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @ReadOperation
+    public Map<String, CacheAccessStats.Report> caches() {
+        Map<String, CacheAccessStats.Report> reports = new TreeMap<>();
+        sampler.getStats().forEach((cacheName, stats) -> reports.put(cacheName, stats.report()));
+        return reports;
+    }
+
+    /**
+     * @return the report of one cache, or null (404) if it has not been accessed
+     */
+    @ReadOperation
+    public CacheAccessStats.Report cache(@Selector String cacheName) {
+        CacheAccessStats stats = sampler.getStats().get(cacheName);
+        return stats != null ? stats.report() : null;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sampler.reset();
+    }
+}
@@ -0,0 +1,58 @@
+package com.thales.common.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Publishes the {@link CacheAccessSampler} statistics as metrics tagged with the cache name.
+ * Individual hot keys are not used as tags to keep cardinality bounded; they are available
+ * from the {@link CacheAccessEndpoint}.
+ */
+public class CacheAccessMetrics implements MeterBinder {
+
+    private final CacheAccessSampler sampler;
+
+    public CacheAccessMetrics(CacheAccessSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        sampler.onNewCache(stats -> bind(registry, stats));
+    }
+
+    private static void bind(MeterRegistry registry, CacheAccessStats stats) {
+        Tags tags = Tags.of("cache", stats.getCacheName());
+
+        DistributionSummary valueSizes = DistributionSummary.builder("thales.cache.value.size")
+                .description("Serialized size of values read from or written to the cache")
+                .baseUnit(BaseUnits.BYTES)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(64.0)
+                .maximumExpectedValue((double) DataSize.ofMegabytes(64).toBytes())
+                .register(registry);
+        stats.setSizeListener(valueSizes::record);
+
+        FunctionCounter.builder("thales.cache.value.large", stats, CacheAccessStats::largeValueCount)
+                .description("Values at or above the large value threshold")
+                .tags(tags)
+                .register(registry);
+
+        FunctionCounter.builder("thales.cache.access.sampled", stats, CacheAccessStats::sampledAccessCount)
+                .description("Cache accesses counted by the hot-key sampler")
+                .tags(tags)
+                .register(registry);
+
+        Gauge.builder("thales.cache.hot.key.share", stats, CacheAccessStats::hottestKeyShare)
+                .description("Share of sampled accesses in the current window that went to the hottest key")
+                .tags(tags)
+                .register(registry);
+    }
+}
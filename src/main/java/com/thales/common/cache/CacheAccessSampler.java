@@ -0,0 +1,108 @@
+package com.thales.common.cache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Samples cache accesses to find hot keys and records the serialized size of cached values.
+ * <p>
+ * Called from the caches created by the library's cache managers, so it sees every access made
+ * through {@link CacheUtil}, {@link StaticCacheUtil}, {@link AsyncCacheUtil} and {@code @Cacheable}.
+ * Only a fraction of accesses (the sample rate) reaches the per-cache top-K counter, and the same fraction
+ * of value sizes reaches the size histogram; values at or above the large value threshold are always counted.
+ * Keys are reported as a short hash unless raw keys are enabled, since they may contain personal data.
+ */
+public class CacheAccessSampler {
+
+    private final double sampleRate;
+    private final int topK;
+    private final Duration window;
+    private final long largeValueThreshold;
+    private final boolean rawKeys;
+
+    private final Map<String, CacheAccessStats> stats = new ConcurrentHashMap<>();
+    private final List<Consumer<CacheAccessStats>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param rawKeys whether keys are reported as is instead of as a short hash
+     */
+    public CacheAccessSampler(double sampleRate, int topK, Duration window, long largeValueThreshold, boolean rawKeys) {
+        if (sampleRate <= 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Cache access sample rate must be in (0, 1] but was " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        this.topK = topK;
+        this.window = window;
+        this.largeValueThreshold = largeValueThreshold;
+        this.rawKeys = rawKeys;
+    }
+
+    /**
+     * Counts an access to a key, subject to sampling.
+     */
+    public void recordAccess(String cacheName, Object key) {
+        if (!sample()) {
+            return;
+        }
+        stats(cacheName).recordAccess(key);
+    }
+
+    /**
+     * Records the serialized size of a value read from or written to a cache, subject to sampling
+     * unless the value is large.
+     *
+     * @param key the key of the value, or null when it is not known
+     */
+    public void recordValueSize(String cacheName, Object key, long bytes) {
+        boolean sampled = sample();
+        if (sampled || bytes >= largeValueThreshold) {
+            stats(cacheName).recordValueSize(key, bytes, sampled);
+        }
+    }
+
+    /**
+     * @return the statistics of every cache accessed so far, keyed by cache name
+     */
+    public Map<String, CacheAccessStats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Clears hot keys and value sizes of all caches.
+     */
+    public void reset() {
+        stats.values().forEach(CacheAccessStats::reset);
+    }
+
+    /**
+     * Registers a callback invoked for every cache's statistics, including those created later.
+     */
+    void onNewCache(Consumer<CacheAccessStats> listener) {
+        listeners.add(listener);
+        stats.values().forEach(listener);
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private CacheAccessStats stats(String cacheName) {
+        CacheAccessStats existing = stats.get(cacheName);
+        if (existing != null) {
+            return existing;
+        }
+        CacheAccessStats created = new CacheAccessStats(cacheName, sampleRate, topK, window, largeValueThreshold, rawKeys);
+        existing = stats.putIfAbsent(cacheName, created);
+        if (existing != null) {
+            return existing;
+        }
+        listeners.forEach(listener -> listener.accept(created));
+        return created;
+    }
+}
@@ -0,0 +1,238 @@
+package com.thales.common.cache;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Access statistics of one cache: a streaming top-K of the most accessed keys over a rolling
+ * window, and a histogram of a sample of the serialized value sizes transferred to and from the store.
+ * Keys are described by the first 12 hex digits of their SHA-256 unless raw keys are enabled.
+ */
+@Slf4j
+public class CacheAccessStats {
+
+    private static final int MAX_KEY_LENGTH = 200;
+    private static final int KEY_HASH_BYTES = 6;
+    private static final int MAX_LARGE_VALUE_KEYS = 20;
+    /** Space-Saving tracks more counters than reported to keep the reported top-K accurate. */
+    private static final int COUNTERS_PER_REPORTED_KEY = 4;
+
+    @Getter
+    private final String cacheName;
+    private final double sampleRate;
+    private final int topK;
+    private final long windowNanos;
+    private final long largeValueThreshold;
+    private final boolean rawKeys;
+
+    private volatile Window current;
+    private volatile Window previous;
+    private final LongAdder sampledAccesses = new LongAdder();
+
+    /** Bucket {@code i} counts sizes in {@code [2^(i-1), 2^i)} bytes; bucket 0 counts empty values. */
+    private final LongAdder[] sizeBuckets = new LongAdder[Long.SIZE];
+    private final LongAdder sizeCount = new LongAdder();
+    private final LongAccumulator maxSize = new LongAccumulator(Long::max, 0);
+    private final LongAdder largeValues = new LongAdder();
+    private final Map<String, Long> largeValueKeys = new ConcurrentHashMap<>();
+    private volatile LongConsumer sizeListener;
+
+    CacheAccessStats(String cacheName, double sampleRate, int topK, Duration window, long largeValueThreshold,
+                     boolean rawKeys) {
+        this.cacheName = cacheName;
+        this.sampleRate = sampleRate;
+        this.topK = topK;
+        this.windowNanos = window.toNanos();
+        this.largeValueThreshold = largeValueThreshold;
+        this.rawKeys = rawKeys;
+        for (int i = 0; i < sizeBuckets.length; i++) {
+            sizeBuckets[i] = new LongAdder();
+        }
+        this.current = newWindow(System.nanoTime());
+    }
+
+    void recordAccess(Object key) {
+        sampledAccesses.increment();
+        window(System.nanoTime()).keys.add(describe(key));
+    }
+
+    /**
+     * @param key the key of the value, or null when it is not known (e.g. on reads)
+     * @param sampled whether the size is part of the sample fed to the histogram; large values are
+     * recorded even when they are not
+     */
+    void recordValueSize(Object key, long bytes, boolean sampled) {
+        if (sampled) {
+            sizeBuckets[Long.SIZE - Long.numberOfLeadingZeros(bytes)].increment();
+            sizeCount.increment();
+            LongConsumer listener = sizeListener;
+            if (listener != null) {
+                listener.accept(bytes);
+            }
+        }
+        maxSize.accumulate(bytes);
+        if (bytes < largeValueThreshold) {
+            return;
+        }
+        largeValues.increment();
+        if (key != null && largeValueKeys.size() < MAX_LARGE_VALUE_KEYS) {
+            String description = describe(key);
+            if (largeValueKeys.put(description, bytes) == null) {
+                log.warn("Large value of {} bytes stored in cache '{}' under key '{}'", bytes, cacheName, description);
+            }
+        }
+    }
+
+    /**
+     * Receives every sampled value size; used to feed a metrics distribution summary.
+     */
+    void setSizeListener(LongConsumer sizeListener) {
+        this.sizeListener = sizeListener;
+    }
+
+    long sampledAccessCount() {
+        return sampledAccesses.sum();
+    }
+
+    long largeValueCount() {
+        return largeValues.sum();
+    }
+
+    /**
+     * @return the fraction of the current window's sampled accesses that went to the hottest key
+     */
+    double hottestKeyShare() {
+        SpaceSavingCounter keys = window(System.nanoTime()).keys;
+        List<SpaceSavingCounter.Entry> top = keys.top(1);
+        long total = keys.total();
+        return top.isEmpty() || total == 0 ? 0 : (double) top.get(0).count() / total;
+    }
+
+    synchronized void reset() {
+        previous = null;
+        current = newWindow(System.nanoTime());
+        for (LongAdder bucket : sizeBuckets) {
+            bucket.reset();
+        }
+        sizeCount.reset();
+        maxSize.reset();
+        largeValueKeys.clear();
+    }
+
+    public Report report() {
+        Window window = window(System.nanoTime());
+        Window last = previous;
+
+        Map<Long, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < sizeBuckets.length; i++) {
+            long count = sizeBuckets[i].sum();
+            if (count > 0) {
+                histogram.put(i == 0 ? 0 : 1L << (i - 1), count);
+            }
+        }
+
+        return new Report(
+                cacheName,
+                sampleRate,
+                window.startedAt,
+                hotKeys(window),
+                last != null ? last.startedAt : null,
+                last != null ? hotKeys(last) : List.of(),
+                new ValueSizes(sizeCount.sum(), maxSize.get(), largeValueThreshold, largeValues.sum(),
+                        histogram, Map.copyOf(largeValueKeys)));
+    }
+
+    private List<HotKey> hotKeys(Window window) {
+        long total = window.keys.total();
+        return window.keys.top(topK).stream()
+                .map(entry -> new HotKey(
+                        entry.item(),
+                        entry.count(),
+                        Math.round(entry.count() / sampleRate),
+                        total == 0 ? 0 : (double) entry.count() / total))
+                .toList();
+    }
+
+    private Window window(long now) {
+        Window window = current;
+        if (now - window.startNanos < windowNanos) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            if (now - window.startNanos >= windowNanos) {
+                previous = window;
+                window = newWindow(now);
+                current = window;
+            }
+            return window;
+        }
+    }
+
+    private Window newWindow(long now) {
+        return new Window(now, Instant.now(), new SpaceSavingCounter(topK * COUNTERS_PER_REPORTED_KEY));
+    }
+
+    private String describe(Object key) {
+        String description = String.valueOf(key);
+        if (!rawKeys) {
+            return hash(description);
+        }
+        return description.length() > MAX_KEY_LENGTH ? description.substring(0, MAX_KEY_LENGTH) + "..." : description;
+    }
+
+    /**
+     * Hashes a key so it can be matched against a suspect key without being exposed, e.g. {@code sha256:1f2e3d4c5b6a}.
+     */
+    static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(digest, 0, KEY_HASH_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Window(long startNanos, Instant startedAt, SpaceSavingCounter keys) {
+    }
+
+    /**
+     * @param key the key hash, or the key truncated to 200 characters when raw keys are enabled
+     * @param sampledCount accesses seen by the sampler; may be overestimated by at most the count of an evicted key
+     * @param estimatedAccesses sampled count scaled by the sample rate
+     * @param share fraction of the window's sampled accesses
+     */
+    public record HotKey(String key, long sampledCount, long estimatedAccesses, double share) {
+    }
+
+    /**
+     * @param count number of sampled values in the histogram
+     * @param maxBytes size of the largest sampled or large value
+     * @param largeValues values at or above the threshold, counted whether sampled or not
+     * @param histogram number of sampled values per size bucket, keyed by the bucket's lower bound in bytes (powers of two)
+     * @param largeValueKeys keys of values at or above the threshold with their last seen size (writes only, first 20 keys)
+     */
+    public record ValueSizes(long count, long maxBytes, long largeValueThresholdBytes, long largeValues,
+                             Map<Long, Long> histogram, Map<String, Long> largeValueKeys) {
+    }
+
+    public record Report(String cache, double sampleRate,
+                         Instant windowStart, List<HotKey> hotKeys,
+                         Instant previousWindowStart, List<HotKey> previousWindowHotKeys,
+                         ValueSizes valueSizes) {
+    }
+}
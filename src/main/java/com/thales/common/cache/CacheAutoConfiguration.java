@@ -1,21 +1,26 @@
 package com.thales.common.cache;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thales.common.profiling.RequestProfilingProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 @Slf4j
-@Configuration
+@AutoConfiguration(before = org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration.class)
 @EnableCaching
 @RequiredArgsConstructor
 @EnableConfigurationProperties(CacheProperties.class)
@@ -29,10 +34,17 @@ public class CacheAutoConfiguration {
     @ConditionalOnMissingBean(name = "cacheManager")
     @ConditionalOnClass(Caffeine.class)
     @ConditionalOnProperty(name = "thales.cache.type", havingValue = "IN_MEMORY", matchIfMissing = true)
-    public CacheManager caffeineCacheManager() {
+    public CacheManager caffeineCacheManager(ObjectProvider<CacheAccessSampler> cacheAccessSampler,
+                                             ObjectProvider<KnownKeyFilters> knownKeyFilters,
+                                             ObjectProvider<RequestProfilingProperties> requestProfiling) {
         log.info("Configuring in-memory (Caffeine) cache manager...");
 
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        DecoratingCaffeineCacheManager cacheManager = new DecoratingCaffeineCacheManager(
+                cacheAccessSampler.getIfAvailable(), knownKeyFilters.getIfAvailable());
+        // Present only when thales.profiling is enabled in a servlet application
+        cacheManager.setRequestProfiling(requestProfiling.getIfAvailable() != null);
+        // Must be set before the Caffeine spec so the default caches are created as AsyncCache
+        cacheManager.setAsyncCacheMode(cacheProperties.getInMemory().isAsyncMode());
 
         Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
                 .maximumSize(cacheProperties.getInMemory().getMaximumSize())
@@ -41,14 +53,35 @@ public class CacheAutoConfiguration {
 
         cacheManager.setCaffeine(caffeine);
 
-        if (cacheProperties.getTtl() != null && !cacheProperties.getTtl().isEmpty()) {
-            cacheProperties.getTtl().forEach((cacheName, ttl) ->
-                cacheManager.registerCustomCache(cacheName,
-                    Caffeine.newBuilder()
-                        .maximumSize(cacheProperties.getInMemory().getMaximumSize())
-                        .expireAfterWrite(ttl)
-                        .build())
-            );
+        Set<String> customCacheNames = new LinkedHashSet<>(cacheProperties.getTtl().keySet());
+        customCacheNames.addAll(cacheProperties.getNegativeTtl().keySet());
+        customCacheNames.forEach(cacheName -> {
+            Duration ttl = cacheProperties.getTtl()
+                    .getOrDefault(cacheName, cacheProperties.getInMemory().getExpireAfterWrite());
+            Duration negativeTtl = cacheProperties.getNegativeTtl().get(cacheName);
+
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .maximumSize(cacheProperties.getInMemory().getMaximumSize());
+            if (negativeTtl != null) {
+                builder.expireAfter(new NegativeCachingExpiry(ttl, negativeTtl));
+            } else {
+                builder.expireAfterWrite(ttl);
+            }
+
+            if (cacheProperties.getInMemory().isAsyncMode()) {
+                cacheManager.registerCustomCache(cacheName, builder.buildAsync());
+            } else {
+                cacheManager.registerCustomCache(cacheName, builder.build());
+            }
+        });
+
+        if (cacheProperties.getHibernate().isEnabled()) {
+            // Update timestamps must outlive the cached query results they invalidate
+            if (cacheProperties.getInMemory().isAsyncMode()) {
+                cacheManager.registerCustomCache(CacheRegionFactory.TIMESTAMPS_REGION, Caffeine.newBuilder().buildAsync());
+            } else {
+                cacheManager.registerCustomCache(CacheRegionFactory.TIMESTAMPS_REGION, Caffeine.newBuilder().build());
+            }
         }
 
         return cacheManager;
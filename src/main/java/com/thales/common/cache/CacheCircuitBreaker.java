@@ -0,0 +1,157 @@
+package com.thales.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker guarding the calls of all caches to one cache store.
+ * <p>
+ * While {@link State#CLOSED}, the outcome of the last {@code sliding-window-size} calls is kept, a call
+ * slower than {@code slow-call-duration} counting as failed. Once at least {@code minimum-calls} are
+ * recorded and the failed share reaches {@code failure-rate-threshold}, the circuit opens and calls are
+ * rejected for {@code open-duration}. Then {@code half-open-calls} probe calls are let through: if all
+ * succeed the circuit closes, otherwise it opens again.
+ */
+@Slf4j
+public class CacheCircuitBreaker {
+
+    /**
+     * State of the circuit.
+     */
+    public enum State {
+        /** Calls go to the store. */
+        CLOSED,
+        /** Calls are rejected. */
+        OPEN,
+        /** A limited number of probe calls go to the store. */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failed;
+    private long openUntil;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public CacheCircuitBreaker(String name, CacheProperties.CircuitBreaker properties) {
+        this.name = name;
+        this.outcomes = new boolean[properties.getSlidingWindowSize()];
+        this.minimumCalls = Math.min(properties.getMinimumCalls(), properties.getSlidingWindowSize());
+        this.failureRateThreshold = properties.getFailureRateThreshold() / 100.0;
+        this.slowCallNanos = properties.getSlowCallDuration().toNanos();
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.halfOpenCalls = properties.getHalfOpenCalls();
+    }
+
+    /**
+     * @return whether a call may go to the store; a permitted call must report its outcome with
+     * {@link #onSuccess} or {@link #onFailure}
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openUntil < 0) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+                probesStarted = 1;
+                return true;
+            default:
+                if (probesStarted >= halfOpenCalls) {
+                    return false;
+                }
+                probesStarted++;
+                return true;
+        }
+    }
+
+    /**
+     * Records a call that completed; it counts as failed if slower than {@code slow-call-duration}.
+     */
+    public void onSuccess(long durationNanos) {
+        if (durationNanos > slowCallNanos) {
+            onFailure();
+            return;
+        }
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                if (++probesSucceeded >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        }
+    }
+
+    /**
+     * Records a call that failed or timed out.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && (double) failed / recorded >= failureRateThreshold) {
+                open();
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public boolean isClosed() {
+        return getState() == State.CLOSED;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failed--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failed++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        openUntil = System.nanoTime() + openNanos;
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State newState) {
+        State previous = state;
+        state = newState;
+        recorded = 0;
+        next = 0;
+        failed = 0;
+        probesStarted = 0;
+        probesSucceeded = 0;
+        if (newState == State.OPEN) {
+            log.warn("Cache circuit '{}' opened ({} -> {}), calls are rejected for {}",
+                    name, previous, newState, Duration.ofNanos(openNanos));
+        } else {
+            log.info("Cache circuit '{}' {} -> {}", name, previous, newState);
+        }
+    }
+}
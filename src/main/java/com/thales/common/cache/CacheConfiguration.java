@@ -1,15 +1,21 @@
 package com.thales.common.cache;
 
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuration class for CacheUtil to ensure it's properly initialized
  * in Spring context for all applications using the common-lib.
+ * Runs after the cache manager auto-configurations so the CacheManager condition is reliable.
  */
-@Configuration
+@AutoConfiguration(after = {
+        CacheAutoConfiguration.class,
+        RedisCacheManagerConfiguration.class,
+        org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration.class})
+@ConditionalOnBean(CacheManager.class)
 public class CacheConfiguration {
 
     /**
@@ -24,4 +30,16 @@ public class CacheConfiguration {
     public CacheUtil cacheUtil(CacheManager cacheManager) {
         return new CacheUtil(cacheManager);
     }
+
+    /**
+     * Creates the non-blocking AsyncCacheUtil bean if not already defined in the application context.
+     *
+     * @param cacheManager Spring's CacheManager bean
+     * @return an AsyncCacheUtil instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncCacheUtil asyncCacheUtil(CacheManager cacheManager) {
+        return new AsyncCacheUtil(cacheManager);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.thales.common.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+/**
+ * Navigates the decorators the library's cache managers put around a cache.
+ */
+final class CacheDecorators {
+
+    private CacheDecorators() {
+        // Utility class, should not be instantiated
+    }
+
+    /**
+     * @return the innermost cache, without profiling, transaction-aware or known-key decorators; a
+     * {@link CircuitBreakingCache} is kept, since it stands for the Redis cache it protects
+     */
+    static Cache target(Cache cache) {
+        Cache current = cache;
+        while (true) {
+            if (current instanceof ProfilingCache profiling) {
+                current = profiling.getTargetCache();
+            } else if (current instanceof TransactionAwareCacheDecorator decorator) {
+                current = decorator.getTargetCache();
+            } else if (current instanceof KnownKeyFilteringCache filtering) {
+                current = filtering.getTargetCache();
+            } else {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * @return the known-key decorator of the cache, or null if it has none
+     */
+    static KnownKeyFilteringCache knownKeyFilter(Cache cache) {
+        Cache current = cache;
+        while (true) {
+            if (current instanceof ProfilingCache profiling) {
+                current = profiling.getTargetCache();
+            } else if (current instanceof TransactionAwareCacheDecorator decorator) {
+                current = decorator.getTargetCache();
+            } else {
+                break;
+            }
+        }
+        return current instanceof KnownKeyFilteringCache filtering ? filtering : null;
+    }
+
+    /**
+     * @return whether the cache defers writes to the end of the surrounding transaction
+     */
+    static boolean isTransactionAware(Cache cache) {
+        Cache current = cache;
+        while (true) {
+            if (current instanceof TransactionAwareCacheDecorator) {
+                return true;
+            } else if (current instanceof ProfilingCache profiling) {
+                current = profiling.getTargetCache();
+            } else if (current instanceof KnownKeyFilteringCache filtering) {
+                current = filtering.getTargetCache();
+            } else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return whether the cache stores null values (negative caching)
+     */
+    static boolean allowsNullValues(Cache cache) {
+        Cache target = target(cache);
+        if (target instanceof CircuitBreakingCache circuitBreaking) {
+            return circuitBreaking.isAllowNullValues();
+        }
+        return target instanceof AbstractValueAdaptingCache adapting && adapting.isAllowNullValues();
+    }
+}
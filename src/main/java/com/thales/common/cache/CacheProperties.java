@@ -3,10 +3,13 @@ package com.thales.common.cache;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Properties class for cache configuration.
@@ -32,6 +35,17 @@ public class CacheProperties {
      */
     private Map<String, Duration> ttl = new HashMap<>();
 
+    /**
+     * Cache names and the TTL of their cached null values (negative caching).
+     * Caches not listed here do not cache nulls in Redis.
+     */
+    private Map<String, Duration> negativeTtl = new HashMap<>();
+
+    /**
+     * Cache names and the Bloom filter of their known-existing keys
+     */
+    private Map<String, BloomFilter> bloomFilter = new HashMap<>();
+
     /**
      * In-memory cache (Caffeine) configuration
      */
@@ -42,6 +56,31 @@ public class CacheProperties {
      */
     private final Redis redis = new Redis();
 
+    /**
+     * Hot-key and value size sampling configuration
+     */
+    private final Sampling sampling = new Sampling();
+
+    /**
+     * Write-behind configuration of Redis caches
+     */
+    private final WriteBehind writeBehind = new WriteBehind();
+
+    /**
+     * Hibernate second-level cache configuration
+     */
+    private final Hibernate hibernate = new Hibernate();
+
+    /**
+     * Circuit breaker configuration of Redis caches
+     */
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Startup cache warming configuration
+     */
+    private final Warming warming = new Warming();
+
     /**
      * Inner class for in-memory cache configuration
      */
@@ -67,6 +106,12 @@ public class CacheProperties {
          * Expiration period after last access (seconds)
          */
         private Duration expireAfterAccess = Duration.ofMinutes(10);
+
+        /**
+         * Whether caches are backed by Caffeine's AsyncCache, enabling non-blocking retrieval.
+         * Opt-in: it changes how loading and null values behave.
+         */
+        private boolean asyncMode = false;
     }
 
     /**
@@ -96,4 +141,215 @@ public class CacheProperties {
          */
         private String serializationFormat = "JDK";
     }
-} 
\ No newline at end of file
+
+    /**
+     * Inner class for hot-key and value size sampling configuration
+     */
+    @Getter
+    @Setter
+    public static class Sampling {
+        /**
+         * Whether cache accesses and value sizes are sampled
+         */
+        private boolean enabled = true;
+
+        /**
+         * Fraction of cache accesses counted for hot-key detection, in (0, 1]
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Number of hottest keys reported per cache
+         */
+        private int topK = 10;
+
+        /**
+         * Length of the window over which key accesses are counted
+         */
+        private Duration window = Duration.ofMinutes(5);
+
+        /**
+         * Serialized size from which a value is reported as large
+         */
+        private DataSize largeValueThreshold = DataSize.ofMegabytes(1);
+
+        /**
+         * Whether hot and large-value keys are reported and logged as is instead of as a short hash
+         */
+        private boolean rawKeys = false;
+    }
+
+    /**
+     * Inner class for the Bloom filter of a cache's known-existing keys
+     */
+    @Getter
+    @Setter
+    public static class BloomFilter {
+        /**
+         * Number of keys the filter is sized for
+         */
+        private long expectedInsertions = 100_000;
+
+        /**
+         * Probability of letting a non-existing key through
+         */
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * Interval at which the shared Redis bitmap is read into the local filter (REDIS mode)
+         */
+        private Duration syncInterval = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Inner class for write-behind (batched, asynchronous) Redis writes
+     */
+    @Getter
+    @Setter
+    public static class WriteBehind {
+        /**
+         * Names of the Redis caches whose puts and evictions are written behind
+         */
+        private Set<String> caches = new HashSet<>();
+
+        /**
+         * Maximum number of distinct keys pending per cache; writes beyond it go to Redis directly
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Maximum number of writes sent in one pipelined batch
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * Maximum time a write stays pending before it is flushed
+         */
+        private Duration maxDelay = Duration.ofMillis(50);
+
+        /**
+         * Number of flushes a write is attempted in before it is dropped
+         */
+        private int maxAttempts = 5;
+    }
+
+    /**
+     * Inner class for the Hibernate second-level cache backed by the cache manager
+     */
+    @Getter
+    @Setter
+    public static class Hibernate {
+        /**
+         * Whether Hibernate's second-level cache regions are stored in the library's cache manager
+         */
+        private boolean enabled = false;
+    }
+
+    /**
+     * Inner class for the circuit breaker protecting callers from a slow or failing Redis
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        /**
+         * Whether Redis cache calls go through the circuit breaker
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time after which a Redis cache call is abandoned and counted as failed
+         */
+        private Duration callTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Duration from which a completed call counts as failed (slow)
+         */
+        private Duration slowCallDuration = Duration.ofMillis(500);
+
+        /**
+         * Percentage of failed or slow calls in the window that opens the circuit
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Number of most recent calls whose outcome is considered
+         */
+        private int slidingWindowSize = 50;
+
+        /**
+         * Minimum number of calls in the window before the circuit may open
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * Time the circuit stays open before probe calls are let through
+         */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        /**
+         * Number of probe calls that must succeed to close the circuit again
+         */
+        private int halfOpenCalls = 5;
+
+        /**
+         * What answers cache calls while the circuit is open
+         */
+        private Fallback fallback = Fallback.LOCAL;
+
+        /**
+         * Maximum number of entries of each cache's local fallback
+         */
+        private long fallbackMaximumSize = 1000;
+
+        /**
+         * Time an entry stays in the local fallback after it was last read or written
+         */
+        private Duration fallbackTtl = Duration.ofMinutes(1);
+
+        /**
+         * Answer of cache calls while the circuit is open
+         */
+        public enum Fallback {
+            /**
+             * A local Caffeine copy of the most recently used entries
+             */
+            LOCAL,
+            /**
+             * A cache miss
+             */
+            NONE
+        }
+    }
+
+    /**
+     * Inner class for warming caches from CacheWarmer beans at startup
+     */
+    @Getter
+    @Setter
+    public static class Warming {
+        /**
+         * Whether CacheWarmer beans are run at startup
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of caches warmed at the same time
+         */
+        private int concurrency = 4;
+
+        /**
+         * Maximum time startup waits for warming before the application reports itself ready
+         */
+        private Duration timeout = Duration.ofMinutes(2);
+
+        /**
+         * Number of entries written concurrently before waiting for them to complete
+         */
+        private int batchSize = 500;
+
+        /**
+         * Cache names and the interval at which they are reloaded after startup
+         */
+        private Map<String, Duration> refresh = new HashMap<>();
+    }
+}
@@ -0,0 +1,144 @@
+package com.thales.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.SerializationUtils;
+
+import java.io.Serial;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Hibernate second-level cache {@code RegionFactory} storing every region in a cache of the
+ * application's {@link CacheManager}, so entity, collection, natural-id and query regions use the
+ * configured Caffeine or Redis backend and the TTLs of {@code thales.cache.ttl}, keyed by region name.
+ * <p>
+ * Regions bypass the transaction-aware and known-key decorators of the cache; Hibernate's access
+ * strategies already order cache writes and invalidations around the transaction. They also bypass the
+ * circuit breaker, whose local fallback would hide read-write soft locks from the other instances.
+ * <p>
+ * The cache managers give the update timestamps region neither TTL nor size limit: a timestamp expiring
+ * before the query results it invalidates would let Hibernate return stale results.
+ */
+@Slf4j
+public class CacheRegionFactory extends RegionFactoryTemplate {
+
+    /**
+     * Name of Hibernate's update timestamps region, without {@code hibernate.cache.region_prefix}
+     */
+    static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // The factory is only serialized along with the session factory, which then looks it up again
+    private final transient CacheManager cacheManager;
+
+    public CacheRegionFactory(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        log.info("Hibernate second-level cache regions are stored in {}", cacheManager.getClass().getSimpleName());
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        // Caches belong to the CacheManager and outlive the session factory
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return new CacheStorageAccess(getCache(regionConfig.getRegionName()), UnaryOperator.identity());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return new CacheStorageAccess(getCache(regionName), CacheRegionFactory::queryCacheKey);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        if (!TIMESTAMPS_REGION.equals(regionName)) {
+            throw new CacheException("Update timestamps region '" + regionName + "' would expire like other caches; "
+                    + "hibernate.cache.region_prefix is not supported by the cache manager region factory");
+        }
+        return new CacheStorageAccess(getCache(regionName), UnaryOperator.identity());
+    }
+
+    private Cache getCache(String regionName) {
+        Cache cache = cacheManager.getCache(regionName);
+        if (cache == null) {
+            throw new CacheException("Cache manager has no cache for second-level cache region '" + regionName + "'");
+        }
+        Cache target = CacheDecorators.target(cache);
+        return target instanceof CircuitBreakingCache circuitBreaking ? circuitBreaking.getTargetCache() : target;
+    }
+
+    /**
+     * Query keys have no {@code toString()}, which Redis needs to build the cache key,
+     * so they are stored under a digest of their serialized form.
+     */
+    private static Object queryCacheKey(Object key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(SerializationUtils.serialize(key));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Storage of one region in a Spring {@link Cache}.
+     */
+    private record CacheStorageAccess(Cache cache, UnaryOperator<Object> keyMapper) implements DomainDataStorageAccess {
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            Cache.ValueWrapper wrapper = cache.get(keyMapper.apply(key));
+            return wrapper != null ? wrapper.get() : null;
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            cache.put(keyMapper.apply(key), value);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.get(keyMapper.apply(key)) != null;
+        }
+
+        @Override
+        public void evictData() {
+            cache.clear();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.evict(keyMapper.apply(key));
+        }
+
+        @Override
+        public void release() {
+            // The cache belongs to the CacheManager
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.thales.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link CacheAccessSampler} picked up by the library's cache managers, and exposes
+ * its statistics through the {@code cacheaccess} actuator endpoint and Micrometer when available.
+ */
+@AutoConfiguration(before = {CacheAutoConfiguration.class, RedisCacheManagerConfiguration.class})
+@EnableConfigurationProperties(CacheProperties.class)
+@ConditionalOnProperty(name = "thales.cache.sampling.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheSamplingConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheAccessSampler cacheAccessSampler(CacheProperties cacheProperties) {
+        CacheProperties.Sampling sampling = cacheProperties.getSampling();
+        return new CacheAccessSampler(sampling.getSampleRate(), sampling.getTopK(), sampling.getWindow(),
+                sampling.getLargeValueThreshold().toBytes(), sampling.isRawKeys());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    static class CacheAccessEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnAvailableEndpoint(endpoint = CacheAccessEndpoint.class)
+        public CacheAccessEndpoint cacheAccessEndpoint(CacheAccessSampler cacheAccessSampler) {
+            return new CacheAccessEndpoint(cacheAccessSampler);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class CacheAccessMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public CacheAccessMetrics cacheAccessMetrics(CacheAccessSampler cacheAccessSampler) {
+            return new CacheAccessMetrics(cacheAccessSampler);
+        }
+    }
+}
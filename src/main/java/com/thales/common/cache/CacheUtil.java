@@ -5,16 +5,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.support.NoOpCache;
-import org.springframework.stereotype.Component;
 
 import java.util.Collection;
+import java.util.function.Supplier;
 
 /**
  * Utility class for cache operations to be used as a Spring bean.
  * For static access to cache operations, use the StaticCacheUtil class.
+ * Registered by {@link CacheConfiguration} whenever a CacheManager is available.
  */
 @Getter
-@Component
 public final class CacheUtil {
 
     /**
@@ -115,6 +115,38 @@ public final class CacheUtil {
         return value != null ? value : defaultValue;
     }
 
+    /**
+     * Retrieves a value from a cache, loading and storing it on a miss.
+     * A null result is stored as well when the cache has negative caching
+     * ({@code thales.cache.negative-ttl}), so repeated lookups of a missing key do not reach the loader.
+     * Keys rejected by the cache's Bloom filter return null without calling the loader.
+     *
+     * @param <T> the type of value to retrieve
+     * @param cacheName the name of the cache
+     * @param key the key to look up
+     * @param type the expected type of the value
+     * @param loader loads the value on a miss, e.g. from the database
+     * @return the cached or loaded value, or null
+     */
+    public <T> T getOrLoad(String cacheName, Object key, Class<T> type, Supplier<T> loader) {
+        if (cacheManager == null || cacheName == null || key == null) return loader.get();
+
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) return loader.get();
+
+        Cache.ValueWrapper valueWrapper = cache.get(key);
+        if (valueWrapper != null) {
+            Object value = valueWrapper.get();
+            return type.isInstance(value) ? type.cast(value) : null;
+        }
+
+        T value = loader.get();
+        if (value != null || CacheDecorators.allowsNullValues(cache)) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
     /**
      * Stores a value in a cache.
      *
@@ -0,0 +1,23 @@
+package com.thales.common.cache;
+
+import java.util.Map;
+
+/**
+ * Loads the full contents of a cache, e.g. all country codes. Beans of this type are run at startup
+ * before the application reports itself ready, and again every {@code thales.cache.warming.refresh}
+ * interval of their cache, if one is configured.
+ *
+ * @see CacheWarmingRunner
+ */
+public interface CacheWarmer {
+
+    /**
+     * @return the name of the cache to populate
+     */
+    String cacheName();
+
+    /**
+     * @return every entry of the cache; on a refresh, keys no longer returned are evicted
+     */
+    Map<?, ?> load();
+}
@@ -0,0 +1,26 @@
+package com.thales.common.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the {@link CacheWarmingRunner} when the application defines {@link CacheWarmer} beans.
+ */
+@AutoConfiguration(after = CacheConfiguration.class)
+@EnableConfigurationProperties(CacheProperties.class)
+@ConditionalOnBean({CacheWarmer.class, AsyncCacheUtil.class})
+@ConditionalOnProperty(name = "thales.cache.warming.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheWarmingConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheWarmingRunner cacheWarmingRunner(ObjectProvider<CacheWarmer> warmers, AsyncCacheUtil asyncCacheUtil,
+                                                 CacheProperties cacheProperties) {
+        return new CacheWarmingRunner(warmers.orderedStream().toList(), asyncCacheUtil, cacheProperties.getWarming());
+    }
+}
@@ -0,0 +1,166 @@
+package com.thales.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the {@link CacheWarmer}s at startup, at most {@code concurrency} at a time, and writes their entries
+ * through {@link AsyncCacheUtil} in batches of {@code batch-size} concurrent puts (pipelined with Lettuce).
+ * Warming writes bypass the Redis circuit breaker: their bursts would otherwise count as slow calls, open
+ * the circuit and leave the remaining entries in the local fallback only.
+ * <p>
+ * As an {@link ApplicationRunner}, it holds back the {@code ApplicationReadyEvent}, and with it the
+ * readiness state {@code ACCEPTING_TRAFFIC}, until every warmer has finished or {@code timeout} has passed;
+ * warmers still running then complete in the background. A failing warmer is logged and leaves its cache
+ * cold. Caches with a {@code refresh} interval are reloaded periodically afterwards.
+ */
+@Slf4j
+public class CacheWarmingRunner implements ApplicationRunner, DisposableBean {
+
+    private final List<CacheWarmer> warmers;
+    private final AsyncCacheUtil asyncCacheUtil;
+    private final CacheProperties.Warming warming;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Map<CacheWarmer, Set<Object>> loadedKeys = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refreshScheduler;
+
+    public CacheWarmingRunner(List<CacheWarmer> warmers, AsyncCacheUtil asyncCacheUtil, CacheProperties.Warming warming) {
+        this.warmers = warmers;
+        this.asyncCacheUtil = asyncCacheUtil;
+        this.warming = warming;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-warmer-", 0).factory());
+        // Fair, so warmers start in their @Order
+        this.permits = new Semaphore(warming.getConcurrency(), true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        log.info("Warming {} caches...", warmers.size());
+        long start = System.nanoTime();
+        CompletableFuture<?>[] warmups = warmers.stream()
+                .map(warmer -> CompletableFuture.runAsync(() -> warmWithPermit(warmer), executor))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(warmups).get(warming.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Cache warming finished in {}", Duration.ofNanos(System.nanoTime() - start));
+        } catch (TimeoutException e) {
+            log.warn("Cache warming did not finish within {}; continuing startup while it completes in the background",
+                    warming.getTimeout());
+        } catch (ExecutionException e) {
+            log.error("Cache warming failed", e.getCause());
+        }
+        scheduleRefreshes();
+    }
+
+    /**
+     * Warms a cache once fewer than {@code concurrency} others are being warmed.
+     */
+    private void warmWithPermit(CacheWarmer warmer) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            warm(warmer);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Loads a warmer's entries into its cache and evicts the keys it loaded last time but no longer returns.
+     */
+    void warm(CacheWarmer warmer) {
+        String cacheName = warmer.cacheName();
+        long start = System.nanoTime();
+        try {
+            Map<?, ?> entries = warmer.load();
+            List<CompletableFuture<Void>> batch = new ArrayList<>(warming.getBatchSize());
+            for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                batch.add(asyncCacheUtil.put(cacheName, entry.getKey(), entry.getValue(), true));
+                if (batch.size() >= warming.getBatchSize()) {
+                    join(batch);
+                }
+            }
+            join(batch);
+
+            Set<Object> keys = new HashSet<>(entries.keySet());
+            Set<Object> previousKeys = loadedKeys.put(warmer, keys);
+            if (previousKeys != null) {
+                previousKeys.removeAll(keys);
+                previousKeys.forEach(key -> batch.add(asyncCacheUtil.evict(cacheName, key, true)));
+                join(batch);
+            }
+            log.info("Warmed cache '{}' with {} entries in {}", cacheName, entries.size(),
+                    Duration.ofNanos(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.error("Warming cache '{}' failed", cacheName, e);
+        }
+    }
+
+    private void scheduleRefreshes() {
+        for (CacheWarmer warmer : warmers) {
+            Duration interval = warming.getRefresh().get(warmer.cacheName());
+            if (interval == null) {
+                continue;
+            }
+            scheduleRefresh(warmer, interval);
+            log.info("Cache '{}' is refreshed every {}", warmer.cacheName(), interval);
+        }
+    }
+
+    /**
+     * Schedules the next refresh once the previous one has finished, so slow loads never overlap.
+     */
+    private synchronized void scheduleRefresh(CacheWarmer warmer, Duration interval) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        refreshScheduler().schedule(() -> executor.execute(() -> {
+            warmWithPermit(warmer);
+            scheduleRefresh(warmer, interval);
+        }), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized ScheduledExecutorService refreshScheduler() {
+        if (refreshScheduler == null) {
+            refreshScheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("cache-warmer-refresh").daemon().factory());
+        }
+        return refreshScheduler;
+    }
+
+    private static void join(List<CompletableFuture<Void>> batch) {
+        CompletableFuture.allOf(batch.toArray(CompletableFuture[]::new)).join();
+        batch.clear();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdownNow();
+        }
+        executor.shutdownNow();
+    }
+}
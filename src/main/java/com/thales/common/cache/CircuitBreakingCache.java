@@ -0,0 +1,447 @@
+package com.thales.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Redis cache whose calls are bounded by {@code call-timeout} and guarded by the {@link CacheCircuitBreaker}
+ * of the Redis node owning each key, so a failing partition does not open the circuit of the others.
+ * <p>
+ * A failed, timed-out or rejected call does not reach the caller: reads are answered from the local
+ * fallback, if any, or as a miss, and writes go to the local fallback only. The fallback is kept up to
+ * date with the values read from and written to Redis while the circuit is closed. Evictions and clears
+ * that could not reach Redis are replayed on a background thread once the circuit closes again.
+ * <p>
+ * Like {@code RedisCache}, {@link #get(Object, Callable)} lets one thread at a time load a key.
+ * <p>
+ * Calls time out only when the cache has an asynchronous Lettuce client; otherwise they are bounded by
+ * the Redis command timeout.
+ */
+@Slf4j
+public class CircuitBreakingCache implements Cache, AsyncCacheOperations {
+
+    private static final int MAX_MISSED_EVICTIONS = 10_000;
+
+    private final Cache delegate;
+    private final AsyncCacheOperations asyncDelegate;
+    private final Function<Object, CacheCircuitBreaker> circuitBreakerFor;
+    private final List<CacheCircuitBreaker> circuitBreakers;
+    private final Cache fallback;
+    private final long callTimeoutMillis;
+    private final Set<Object> missedEvictions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean missedClear = new AtomicBoolean();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private final ConcurrentMap<Object, ReentrantLock> loadLocks = new ConcurrentHashMap<>();
+
+    /**
+     * @param fallback answers calls while the circuit is open; may be null to answer them as misses
+     */
+    public CircuitBreakingCache(Cache delegate, CacheCircuitBreaker circuitBreaker, Cache fallback,
+                                CacheProperties.CircuitBreaker properties) {
+        this(delegate, key -> circuitBreaker, List.of(circuitBreaker), fallback, properties);
+    }
+
+    /**
+     * @param circuitBreakerFor the circuit breaker guarding a key, i.e. that of the key's Redis node
+     * @param circuitBreakers every circuit breaker, all of which must be closed to clear the cache
+     * @param fallback answers calls while the circuit is open; may be null to answer them as misses
+     */
+    public CircuitBreakingCache(Cache delegate, Function<Object, CacheCircuitBreaker> circuitBreakerFor,
+                                Collection<CacheCircuitBreaker> circuitBreakers, Cache fallback,
+                                CacheProperties.CircuitBreaker properties) {
+        this.delegate = delegate;
+        this.asyncDelegate = delegate instanceof AsyncCacheOperations operations ? operations : null;
+        this.circuitBreakerFor = circuitBreakerFor;
+        this.circuitBreakers = List.copyOf(circuitBreakers);
+        this.fallback = fallback;
+        this.callTimeoutMillis = properties.getCallTimeout().toMillis();
+    }
+
+    public Cache getTargetCache() {
+        return delegate;
+    }
+
+    public boolean isAllowNullValues() {
+        return delegate instanceof AbstractValueAdaptingCache adapting && adapting.isAllowNullValues();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheCircuitBreaker circuitBreaker = circuitBreakerFor.apply(key);
+        if (!acquire(circuitBreaker)) {
+            return fallbackGet(key);
+        }
+        long start = System.nanoTime();
+        try {
+            ValueWrapper wrapper = asyncDelegate != null
+                    ? await(castWrapper(delegate.retrieve(key)))
+                    : delegate.get(key);
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            if (wrapper != null && fallback != null) {
+                fallback.put(key, wrapper.get());
+            }
+            return wrapper;
+        } catch (RuntimeException e) {
+            onFailure(circuitBreaker, "get", e);
+            return fallbackGet(key);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        ReentrantLock lock = loadLocks.computeIfAbsent(key, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            // Loaded by another thread while this one waited for the lock
+            wrapper = get(key);
+            if (wrapper != null) {
+                return (T) wrapper.get();
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+            return value;
+        } finally {
+            lock.unlock();
+            loadLocks.remove(key, lock);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CacheCircuitBreaker circuitBreaker = circuitBreakerFor.apply(key);
+        if (!acquire(circuitBreaker)) {
+            return CompletableFuture.completedFuture(fallbackGet(key));
+        }
+        long start = System.nanoTime();
+        return castWrapper(delegate.retrieve(key))
+                .orTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((wrapper, error) -> {
+                    if (error != null) {
+                        onFailure(circuitBreaker, "retrieve", unwrap(error));
+                        return fallbackGet(key);
+                    }
+                    circuitBreaker.onSuccess(System.nanoTime() - start);
+                    if (wrapper != null && fallback != null) {
+                        fallback.put(key, wrapper.get());
+                    }
+                    return wrapper;
+                });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return retrieve(key).thenCompose(wrapper -> wrapper != null
+                ? CompletableFuture.completedFuture((T) ((ValueWrapper) wrapper).get())
+                : valueLoader.get().thenCompose(value -> putAsync(key, value).thenApply(ignored -> value)));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        CacheCircuitBreaker circuitBreaker = circuitBreakerFor.apply(key);
+        if (acquire(circuitBreaker)) {
+            long start = System.nanoTime();
+            try {
+                if (asyncDelegate != null) {
+                    await(asyncDelegate.putAsync(key, value));
+                } else {
+                    delegate.put(key, value);
+                }
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+            } catch (RuntimeException e) {
+                onFailure(circuitBreaker, "put", e);
+            }
+        }
+        if (fallback != null) {
+            fallback.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        CacheCircuitBreaker circuitBreaker = circuitBreakerFor.apply(key);
+        if (!acquire(circuitBreaker)) {
+            return fallback != null ? fallback.putIfAbsent(key, value) : null;
+        }
+        long start = System.nanoTime();
+        try {
+            ValueWrapper existing = delegate.putIfAbsent(key, value);
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            if (fallback != null) {
+                fallback.put(key, existing != null ? existing.get() : value);
+            }
+            return existing;
+        } catch (RuntimeException e) {
+            onFailure(circuitBreaker, "putIfAbsent", e);
+            return fallback != null ? fallback.putIfAbsent(key, value) : null;
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (fallback != null) {
+            fallback.evict(key);
+        }
+        CacheCircuitBreaker circuitBreaker = circuitBreakerFor.apply(key);
+        if (!acquire(circuitBreaker)) {
+            missEviction(key);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            if (asyncDelegate != null) {
+                await(asyncDelegate.evictAsync(key));
+            } else {
+                delegate.evict(key);
+            }
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            onFailure(circuitBreaker, "evict", e);
+            missEviction(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (fallback != null) {
+            fallback.clear();
+        }
+        // A clear reaches every node, so it waits for all circuits to be closed
+        if (!allClosed()) {
+            missedClear.set(true);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.clear();
+            long duration = System.nanoTime() - start;
+            circuitBreakers.forEach(circuitBreaker -> circuitBreaker.onSuccess(duration));
+        } catch (RuntimeException e) {
+            circuitBreakers.forEach(CacheCircuitBreaker::onFailure);
+            log.debug("Redis cache '{}' clear failed: {}", getName(), e.toString());
+            missedClear.set(true);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        if (asyncDelegate == null) {
+            put(key, value);
+            return CompletableFuture.completedFuture(null);
+        }
+        CacheCircuitBreaker circuitBreaker = circuitBreakerFor.apply(key);
+        if (!acquire(circuitBreaker)) {
+            if (fallback != null) {
+                fallback.put(key, value);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        return asyncDelegate.putAsync(key, value)
+                .orTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        try {
+                            onFailure(circuitBreaker, "putAsync", unwrap(error));
+                        } catch (RuntimeException e) {
+                            throw new CompletionException(e);
+                        }
+                    } else {
+                        circuitBreaker.onSuccess(System.nanoTime() - start);
+                    }
+                    if (fallback != null) {
+                        fallback.put(key, value);
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> evictAsync(Object key) {
+        if (asyncDelegate == null) {
+            evict(key);
+            return CompletableFuture.completedFuture(null);
+        }
+        if (fallback != null) {
+            fallback.evict(key);
+        }
+        CacheCircuitBreaker circuitBreaker = circuitBreakerFor.apply(key);
+        if (!acquire(circuitBreaker)) {
+            missEviction(key);
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        return asyncDelegate.evictAsync(key)
+                .orTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        onFailure(circuitBreaker, "evictAsync", unwrap(error));
+                        missEviction(key);
+                    } else {
+                        circuitBreaker.onSuccess(System.nanoTime() - start);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * @return whether the call may go to Redis; starts replaying missed evictions once the circuit is closed
+     */
+    private boolean acquire(CacheCircuitBreaker circuitBreaker) {
+        if (!circuitBreaker.tryAcquire()) {
+            return false;
+        }
+        if ((missedClear.get() || !missedEvictions.isEmpty()) && circuitBreaker.isClosed()
+                && replaying.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("cache-eviction-replay-" + getName()).start(this::replayMissedEvictions);
+        }
+        return true;
+    }
+
+    /**
+     * Replays the missed evictions of the keys whose circuit is closed, each bounded by {@code call-timeout};
+     * stops at the first failure, leaving the rest for the next replay.
+     */
+    private void replayMissedEvictions() {
+        try {
+            if (missedClear.get()) {
+                if (!allClosed()) {
+                    return;
+                }
+                missedClear.set(false);
+                missedEvictions.clear();
+                try {
+                    delegate.clear();
+                } catch (RuntimeException e) {
+                    missedClear.set(true);
+                    throw e;
+                }
+                log.info("Replayed missed clear of cache '{}'", getName());
+                return;
+            }
+            for (Object key : missedEvictions) {
+                if (!circuitBreakerFor.apply(key).isClosed()) {
+                    continue;
+                }
+                if (asyncDelegate != null) {
+                    await(asyncDelegate.evictAsync(key));
+                } else {
+                    delegate.evict(key);
+                }
+                missedEvictions.remove(key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Replaying missed evictions of cache '{}' failed: {}", getName(), e.getMessage());
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private void missEviction(Object key) {
+        if (missedEvictions.size() >= MAX_MISSED_EVICTIONS) {
+            missedClear.set(true);
+        } else {
+            missedEvictions.add(key);
+        }
+    }
+
+    private boolean allClosed() {
+        return circuitBreakers.stream().allMatch(CacheCircuitBreaker::isClosed);
+    }
+
+    private ValueWrapper fallbackGet(Object key) {
+        return fallback != null ? fallback.get(key) : null;
+    }
+
+    /**
+     * Counts the failure, unless it is a serialization or argument error, which is not Redis' fault
+     * and is rethrown to the caller.
+     */
+    private void onFailure(CacheCircuitBreaker circuitBreaker, String operation, Throwable error) {
+        if (error instanceof IllegalArgumentException || error instanceof SerializationException) {
+            circuitBreaker.onSuccess(0);
+            throw (RuntimeException) error;
+        }
+        circuitBreaker.onFailure();
+        log.debug("Redis cache '{}' {} failed: {}", getName(), operation, error.toString());
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(callTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Redis", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new IllegalStateException("Redis call timed out after " + callTimeoutMillis + "ms", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<ValueWrapper> castWrapper(CompletableFuture<?> future) {
+        return (CompletableFuture<ValueWrapper>) future;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException || error instanceof ExecutionException
+                ? (error.getCause() != null ? error.getCause() : error)
+                : error;
+    }
+}
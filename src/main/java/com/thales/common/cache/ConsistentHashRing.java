@@ -0,0 +1,83 @@
+package com.thales.common.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable consistent-hash ring placing each node at a number of virtual points. A key belongs to the
+ * first point at or after its hash, so adding or removing a node only moves the keys of that node.
+ *
+ * @param <T> the node type
+ */
+final class ConsistentHashRing<T> {
+
+    private final long[] points;
+    private final Object[] owners;
+    private final List<T> nodes;
+
+    /**
+     * @param nodes nodes by a stable id (e.g. {@code host:port}); a node keeps its keys as long as its id is unchanged
+     * @param virtualNodes points per node; more points spread keys more evenly
+     */
+    ConsistentHashRing(Map<String, T> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("Consistent-hash ring needs at least one node and one virtual node");
+        }
+        int size = nodes.size() * virtualNodes;
+        long[] hashes = new long[size];
+        Object[] unsortedOwners = new Object[size];
+        Integer[] order = new Integer[size];
+        int i = 0;
+        for (Map.Entry<String, T> node : nodes.entrySet()) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = hash((node.getKey() + "#" + v).getBytes(StandardCharsets.UTF_8));
+                unsortedOwners[i] = node.getValue();
+                order[i] = i;
+                i++;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        this.points = new long[size];
+        this.owners = new Object[size];
+        for (int p = 0; p < size; p++) {
+            points[p] = hashes[order[p]];
+            owners[p] = unsortedOwners[order[p]];
+        }
+        this.nodes = List.copyOf(nodes.values());
+    }
+
+    @SuppressWarnings("unchecked")
+    T nodeFor(byte[] key) {
+        if (nodes.size() == 1) {
+            return nodes.get(0);
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return (T) owners[index == points.length ? 0 : index];
+    }
+
+    List<T> nodes() {
+        return nodes;
+    }
+
+    /**
+     * FNV-1a, finished with the MurmurHash3 64-bit mixer.
+     */
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
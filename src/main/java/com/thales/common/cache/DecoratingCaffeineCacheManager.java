@@ -0,0 +1,53 @@
+package com.thales.common.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * {@link CaffeineCacheManager} whose caches report key accesses to a {@link CacheAccessSampler}
+ * and are guarded by the {@link KnownKeyFilters}, when those are available, and optionally record
+ * their operations in the profile of the calling request.
+ */
+public class DecoratingCaffeineCacheManager extends CaffeineCacheManager {
+
+    private final CacheAccessSampler sampler;
+    private final KnownKeyFilters knownKeyFilters;
+    private boolean requestProfiling;
+
+    /**
+     * @param sampler receives key accesses; may be null
+     * @param knownKeyFilters guards caches with a Bloom filter; may be null
+     */
+    public DecoratingCaffeineCacheManager(CacheAccessSampler sampler, KnownKeyFilters knownKeyFilters) {
+        this.sampler = sampler;
+        this.knownKeyFilters = knownKeyFilters;
+    }
+
+    /**
+     * Wraps caches in a {@link ProfilingCache}; must be called before the caches are created.
+     */
+    public void setRequestProfiling(boolean requestProfiling) {
+        this.requestProfiling = requestProfiling;
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return decorate(sampler != null
+                ? new SampledCaffeineCache(name, cache, isAllowNullValues(), sampler)
+                : new CaffeineCache(name, cache, isAllowNullValues()));
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+        return decorate(sampler != null
+                ? new SampledCaffeineCache(name, cache, isAllowNullValues(), sampler)
+                : new CaffeineCache(name, cache, isAllowNullValues()));
+    }
+
+    private Cache decorate(Cache cache) {
+        Cache decorated = knownKeyFilters != null ? knownKeyFilters.decorate(cache) : cache;
+        return requestProfiling ? new ProfilingCache(decorated) : decorated;
+    }
+}
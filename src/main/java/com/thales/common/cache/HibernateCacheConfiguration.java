@@ -0,0 +1,48 @@
+package com.thales.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Stores Hibernate's second-level cache in the library's {@link CacheManager} through a
+ * {@link CacheRegionFactory}. A region factory configured in the JPA properties takes precedence.
+ * Redis caches must use JDK serialization: Hibernate's cache entries and soft locks do not round-trip through JSON.
+ */
+@Slf4j
+@AutoConfiguration(
+        after = {CacheAutoConfiguration.class, RedisCacheManagerConfiguration.class},
+        before = HibernateJpaAutoConfiguration.class)
+@ConditionalOnClass({RegionFactoryTemplate.class, HibernatePropertiesCustomizer.class})
+@ConditionalOnProperty(name = "thales.cache.hibernate.enabled", havingValue = "true")
+@ConditionalOnBean(CacheManager.class)
+public class HibernateCacheConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheRegionFactoryCustomizer(CacheManager cacheManager,
+                                                                      CacheProperties cacheProperties) {
+        if (cacheProperties.getType() == CacheType.REDIS
+                && "JSON".equalsIgnoreCase(cacheProperties.getRedis().getSerializationFormat())) {
+            throw new IllegalStateException("thales.cache.hibernate.enabled requires the JDK serialization format: "
+                    + "Hibernate's cache entries are not JSON serializable, remove thales.cache.redis.serialization-format=JSON");
+        }
+        return properties -> {
+            if (properties.containsKey(AvailableSettings.CACHE_REGION_FACTORY)) {
+                log.warn("Hibernate region factory already configured ({}), not using the cache manager",
+                        properties.get(AvailableSettings.CACHE_REGION_FACTORY));
+                return;
+            }
+            log.info("Configuring Hibernate second-level cache on the cache manager...");
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, new CacheRegionFactory(cacheManager));
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.thales.common.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the {@link KnownKeyFilters} picked up by the library's cache managers.
+ * Only caches listed under {@code thales.cache.bloom-filter} get a filter.
+ */
+@AutoConfiguration(before = {CacheAutoConfiguration.class, RedisCacheManagerConfiguration.class})
+@EnableConfigurationProperties(CacheProperties.class)
+@ConditionalOnProperty(name = "thales.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class KnownKeyFilterConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KnownKeyFilters knownKeyFilters(CacheProperties cacheProperties, ObjectProvider<KnownKeysSource> sources) {
+        return new KnownKeyFilters(cacheProperties.getBloomFilter(), sources);
+    }
+}
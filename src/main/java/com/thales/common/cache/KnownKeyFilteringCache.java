@@ -0,0 +1,108 @@
+package com.thales.common.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator that answers lookups of keys rejected by the cache's Bloom filter as a cached
+ * {@code null}, so neither the cache store nor the value loader ({@code @Cacheable} method) is called.
+ * Keys of non-null values put into the cache are added to the filter.
+ */
+public class KnownKeyFilteringCache implements Cache {
+
+    private static final ValueWrapper ABSENT = new SimpleValueWrapper(null);
+
+    private final Cache target;
+    private final KnownKeyFilters.Filter filter;
+
+    KnownKeyFilteringCache(Cache target, KnownKeyFilters.Filter filter) {
+        this.target = target;
+        this.filter = filter;
+    }
+
+    public Cache getTargetCache() {
+        return target;
+    }
+
+    /**
+     * Records a key that now exists.
+     */
+    public void addKnownKey(Object key) {
+        filter.add(key);
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return filter.mightExist(key) ? target.get(key) : ABSENT;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return filter.mightExist(key) ? target.get(key, type) : null;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return filter.mightExist(key) ? target.get(key, valueLoader) : null;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return filter.mightExist(key) ? target.retrieve(key) : CompletableFuture.completedFuture(ABSENT);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return filter.mightExist(key) ? target.retrieve(key, valueLoader) : CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value != null) {
+            filter.add(key);
+        }
+        target.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (value != null) {
+            filter.add(key);
+        }
+        return target.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return target.invalidate();
+    }
+}
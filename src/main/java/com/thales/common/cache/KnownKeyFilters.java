@@ -0,0 +1,240 @@
+package com.thales.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.context.ApplicationListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bloom filters of the keys known to exist, for caches configured under {@code thales.cache.bloom-filter}.
+ * <p>
+ * Once a cache's filter has been seeded with the full key set, lookups of keys that cannot exist are
+ * answered as a cached {@code null} without reaching the cache store or the loader. Non-null values put
+ * into the cache are added automatically; keys created elsewhere must be added with {@link #add}, otherwise
+ * they are rejected. Until the first {@link #seed}, every key is let through.
+ * <p>
+ * In REDIS mode the filters are shared by all instances through a Redis bitmap ({@link #share}). Lookups only
+ * read the local copy; a background thread merges the shared bitmap into it every
+ * {@code thales.cache.bloom-filter.<cache>.sync-interval}, so a key added or seeded on one instance is accepted
+ * by every other after at most that interval. If the bitmap could not be read for three intervals, keys are let
+ * through. Without Redis the filters are local to each instance and {@link #add} must be called on every instance.
+ */
+@Slf4j
+public class KnownKeyFilters implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private final Map<String, Filter> filters = new ConcurrentHashMap<>();
+    private final ObjectProvider<KnownKeysSource> sources;
+    private volatile boolean shared;
+    private ScheduledExecutorService syncScheduler;
+
+    public KnownKeyFilters(Map<String, CacheProperties.BloomFilter> specs, ObjectProvider<KnownKeysSource> sources) {
+        specs.forEach((cacheName, spec) -> filters.put(cacheName, new Filter(cacheName, spec)));
+        this.sources = sources;
+    }
+
+    /**
+     * Backs every filter with a Redis bitmap on the node that owns its key; must be called before seeding.
+     *
+     * @param keyPrefix prefix of the bitmap keys, e.g. the cache key prefix
+     */
+    public synchronized void share(RedisPartitions partitions, String keyPrefix) {
+        if (filters.isEmpty()) {
+            return;
+        }
+        if (syncScheduler == null) {
+            syncScheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("bloom-filter-sync").daemon().factory());
+        }
+        filters.values().forEach(filter -> {
+            filter.share(partitions, keyPrefix);
+            long interval = filter.spec.getSyncInterval().toMillis();
+            syncScheduler.scheduleWithFixedDelay(filter::sync, interval, interval, TimeUnit.MILLISECONDS);
+        });
+        shared = true;
+    }
+
+    /**
+     * @return false only if the cache has a seeded filter and the key is certainly not in it
+     */
+    public boolean mightExist(String cacheName, Object key) {
+        Filter filter = filters.get(cacheName);
+        return filter == null || filter.mightExist(key);
+    }
+
+    /**
+     * Records a newly created key.
+     */
+    public void add(String cacheName, Object key) {
+        Filter filter = filters.get(cacheName);
+        if (filter != null && key != null) {
+            filter.add(key);
+        }
+    }
+
+    /**
+     * Replaces a cache's filter with one built from the given keys and starts rejecting unknown keys.
+     * Keys already in the filter are kept, since a Bloom filter cannot forget keys.
+     */
+    public void seed(String cacheName, Iterable<?> keys) {
+        Filter filter = filters.get(cacheName);
+        if (filter == null) {
+            log.warn("No Bloom filter configured for cache '{}', ignoring seed", cacheName);
+            return;
+        }
+        filter.seed(keys);
+    }
+
+    /**
+     * @return the cache guarded by its filter, or the cache itself if it has none
+     */
+    public Cache decorate(Cache cache) {
+        Filter filter = filters.get(cache.getName());
+        return filter != null ? new KnownKeyFilteringCache(cache, filter) : cache;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (syncScheduler != null) {
+            syncScheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!shared && !filters.isEmpty()) {
+            log.warn("Bloom filters of caches {} are local to this instance: keys created on other instances are "
+                    + "rejected here until added with KnownKeyFilters.add on this instance", filters.keySet());
+        }
+        sources.orderedStream().forEach(source -> {
+            try {
+                seed(source.cacheName(), source.keys());
+            } catch (RuntimeException e) {
+                log.error("Seeding the Bloom filter of cache '{}' failed; its keys are not filtered", source.cacheName(), e);
+            }
+        });
+    }
+
+    /**
+     * Bloom filter of one cache.
+     */
+    static final class Filter {
+
+        private final String cacheName;
+        private final CacheProperties.BloomFilter spec;
+        private volatile BloomFilter bloomFilter;
+        private volatile RedisBloomBits sharedBits;
+        private volatile boolean seeded;
+        /**
+         * {@link System#nanoTime()} of the last successful read or merge of the shared bitmap.
+         */
+        private volatile long syncedAt;
+
+        private Filter(String cacheName, CacheProperties.BloomFilter spec) {
+            this.cacheName = cacheName;
+            this.spec = spec;
+            this.bloomFilter = newBloomFilter();
+        }
+
+        private void share(RedisPartitions partitions, String keyPrefix) {
+            syncedAt = System.nanoTime();
+            sharedBits = new RedisBloomBits(partitions, keyPrefix, cacheName, bloomFilter);
+        }
+
+        boolean mightExist(Object key) {
+            if (!seeded) {
+                return true;
+            }
+            if (sharedBits != null && System.nanoTime() - syncedAt > 3 * spec.getSyncInterval().toNanos()) {
+                // Keys added on other instances since the last sync would be rejected
+                return true;
+            }
+            BloomFilter current = bloomFilter;
+            return current.containsAll(current.bits(String.valueOf(key)));
+        }
+
+        /**
+         * Merges the shared bitmap, holding the keys added on other instances, into the local filter.
+         */
+        private synchronized void sync() {
+            RedisBloomBits shared = sharedBits;
+            if (shared == null) {
+                return;
+            }
+            try {
+                byte[] bitmap = shared.get();
+                if (bitmap != null) {
+                    bloomFilter.merge(bitmap);
+                }
+                syncedAt = System.nanoTime();
+            } catch (RuntimeException e) {
+                log.debug("Could not read the shared Bloom filter {}: {}", shared, e.getMessage());
+            }
+        }
+
+        void add(Object key) {
+            long[] bits = bloomFilter.bits(String.valueOf(key));
+            RedisBloomBits shared = sharedBits;
+            // Bits set locally are already in the shared bitmap: every local bit is written there first
+            if (shared != null && !bloomFilter.containsAll(bits)) {
+                try {
+                    shared.set(bits);
+                } catch (RuntimeException e) {
+                    log.warn("Could not add a key to the shared Bloom filter {}; other instances may reject it: {}",
+                            shared, e.getMessage());
+                }
+            }
+            set(bits);
+        }
+
+        private void set(long[] bits) {
+            BloomFilter current;
+            do {
+                current = bloomFilter;
+                current.set(bits);
+            } while (current != bloomFilter);
+        }
+
+        private synchronized void seed(Iterable<?> keys) {
+            BloomFilter seededFilter = newBloomFilter();
+            long count = 0;
+            for (Object key : keys) {
+                seededFilter.put(String.valueOf(key));
+                count++;
+            }
+            RedisBloomBits shared = sharedBits;
+            if (shared != null) {
+                try {
+                    seededFilter.merge(shared.merge(seededFilter.toBitmap()));
+                    syncedAt = System.nanoTime();
+                } catch (RuntimeException e) {
+                    log.warn("Could not share the Bloom filter of cache '{}' through {}; other instances may reject "
+                            + "its keys until they are seeded: {}", cacheName, shared, e.getMessage());
+                }
+            }
+            BloomFilter previous = bloomFilter;
+            seededFilter.merge(previous);
+            bloomFilter = seededFilter;
+            // Keys added to the previous filter between the first merge and the swap
+            seededFilter.merge(previous);
+            seeded = true;
+            if (count > spec.getExpectedInsertions()) {
+                log.warn("Bloom filter of cache '{}' seeded with {} keys, more than the {} expected; "
+                        + "its false positive rate is higher than configured", cacheName, count, spec.getExpectedInsertions());
+            } else {
+                log.info("Bloom filter of cache '{}' seeded with {} keys", cacheName, count);
+            }
+        }
+
+        private BloomFilter newBloomFilter() {
+            return BloomFilter.create(spec.getExpectedInsertions(), spec.getFalsePositiveRate());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.thales.common.cache;
+
+/**
+ * Supplies every key that currently exists for a cache, e.g. all ids of a table.
+ * Beans of this type seed the cache's Bloom filter once the application is ready.
+ *
+ * @see KnownKeyFilters
+ */
+public interface KnownKeysSource {
+
+    /**
+     * @return the name of the cache whose Bloom filter is seeded
+     */
+    String cacheName();
+
+    /**
+     * @return the existing keys; compared with cache keys by their {@code toString()}
+     */
+    Iterable<?> keys();
+}
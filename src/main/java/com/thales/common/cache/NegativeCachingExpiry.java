@@ -0,0 +1,36 @@
+package com.thales.common.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.cache.support.NullValue;
+
+import java.time.Duration;
+
+/**
+ * Caffeine expiry giving cached null values ({@link NullValue}) a shorter lifetime than regular values.
+ * Entries expire a fixed time after they are written, as with {@code expireAfterWrite}.
+ */
+final class NegativeCachingExpiry implements Expiry<Object, Object> {
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    NegativeCachingExpiry(Duration ttl, Duration negativeTtl) {
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return value instanceof NullValue ? negativeTtlNanos : ttlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
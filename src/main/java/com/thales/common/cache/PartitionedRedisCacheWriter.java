@@ -0,0 +1,110 @@
+package com.thales.common.cache;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link RedisCacheWriter} sending every key to the node chosen by the {@link RedisPartitions}.
+ * Clearing a cache runs on all nodes in parallel.
+ */
+final class PartitionedRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisPartitions partitions;
+    private final Map<RedisConnectionFactory, RedisCacheWriter> writers;
+    private final CacheStatisticsCollector statistics;
+
+    PartitionedRedisCacheWriter(RedisPartitions partitions) {
+        this(partitions, createWriters(partitions), CacheStatisticsCollector.none());
+    }
+
+    private PartitionedRedisCacheWriter(RedisPartitions partitions, Map<RedisConnectionFactory, RedisCacheWriter> writers,
+                                        CacheStatisticsCollector statistics) {
+        this.partitions = partitions;
+        this.writers = writers;
+        this.statistics = statistics;
+    }
+
+    private static Map<RedisConnectionFactory, RedisCacheWriter> createWriters(RedisPartitions partitions) {
+        Map<RedisConnectionFactory, RedisCacheWriter> writers = new IdentityHashMap<>();
+        partitions.getConnectionFactories().forEach(connectionFactory ->
+                writers.put(connectionFactory, RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory)));
+        return writers;
+    }
+
+    private RedisCacheWriter writerFor(byte[] key) {
+        return writers.get(partitions.forKey(key));
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return writerFor(key).get(name, key);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        return writerFor(key).get(name, key, ttl);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return writers.values().stream().allMatch(RedisCacheWriter::supportsAsyncRetrieve);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return writerFor(key).retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        writerFor(key).put(name, key, value, ttl);
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        return writerFor(key).store(name, key, value, ttl);
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        return writerFor(key).putIfAbsent(name, key, value, ttl);
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        writerFor(key).remove(name, key);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        partitions.executeOnAllNodes(connectionFactory -> {
+            writers.get(connectionFactory).clean(name, pattern);
+            return null;
+        });
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        statistics.reset(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        Map<RedisConnectionFactory, RedisCacheWriter> collecting = new IdentityHashMap<>();
+        writers.forEach((connectionFactory, writer) ->
+                collecting.put(connectionFactory, writer.withStatisticsCollector(cacheStatisticsCollector)));
+        return new PartitionedRedisCacheWriter(partitions, collecting, cacheStatisticsCollector);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return statistics.getCacheStatistics(cacheName);
+    }
+}
@@ -0,0 +1,193 @@
+package com.thales.common.cache;
+
+import com.thales.common.profiling.RequestProfile;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Records the operations on a cache in the {@link RequestProfile} of the calling request. The time spent in
+ * value loaders is left out, since it is not spent in the cache.
+ */
+public class ProfilingCache implements Cache {
+
+    private final Cache delegate;
+
+    public ProfilingCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    public Cache getTargetCache() {
+        return delegate;
+    }
+
+    /**
+     * Records an asynchronous operation, including those issued on a cache's {@link AsyncCacheOperations} directly.
+     */
+    static <T> CompletableFuture<T> record(Supplier<CompletableFuture<T>> operation) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return operation.get();
+        }
+        long start = System.nanoTime();
+        CompletableFuture<T> future = operation.get();
+        if (future == null) {
+            // A cache with no mapping for the key may answer retrieve() with null
+            profile.recordCacheOperation(System.nanoTime() - start);
+            return null;
+        }
+        return future.whenComplete((result, error) -> profile.recordCacheOperation(System.nanoTime() - start));
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return delegate.get(key);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.get(key);
+        } finally {
+            profile.recordCacheOperation(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return delegate.get(key, type);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.get(key, type);
+        } finally {
+            profile.recordCacheOperation(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return delegate.get(key, valueLoader);
+        }
+        AtomicLong loadingNanos = new AtomicLong();
+        long start = System.nanoTime();
+        try {
+            return delegate.get(key, () -> {
+                long loadStart = System.nanoTime();
+                try {
+                    return valueLoader.call();
+                } finally {
+                    loadingNanos.addAndGet(System.nanoTime() - loadStart);
+                }
+            });
+        } finally {
+            profile.recordCacheOperation(System.nanoTime() - start - loadingNanos.get());
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return record(() -> delegate.retrieve(key));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return delegate.retrieve(key, valueLoader);
+        }
+        AtomicLong loadingNanos = new AtomicLong();
+        long start = System.nanoTime();
+        return delegate.retrieve(key, () -> {
+            long loadStart = System.nanoTime();
+            return valueLoader.get().whenComplete((value, error) ->
+                    loadingNanos.addAndGet(System.nanoTime() - loadStart));
+        }).whenComplete((value, error) ->
+                profile.recordCacheOperation(System.nanoTime() - start - loadingNanos.get()));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            delegate.put(key, value);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.put(key, value);
+        } finally {
+            profile.recordCacheOperation(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return delegate.putIfAbsent(key, value);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.putIfAbsent(key, value);
+        } finally {
+            profile.recordCacheOperation(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            delegate.evict(key);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.evict(key);
+        } finally {
+            profile.recordCacheOperation(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return delegate.evictIfPresent(key);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.evictIfPresent(key);
+        } finally {
+            profile.recordCacheOperation(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,77 @@
+package com.thales.common.cache;
+
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Bits of a cache's Bloom filter shared by all instances through a Redis bitmap, so that a key added
+ * on one instance is known on every other.
+ * <p>
+ * The bitmap key names the filter's size, e.g. {@code app:thales:bloom:{users}:958506x7}, so instances
+ * configured with different sizes never mix their bits. It has no expiry.
+ */
+final class RedisBloomBits {
+
+    private static final BitFieldSubCommands.BitFieldType BIT = BitFieldSubCommands.BitFieldType.unsigned(1);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final byte[] key;
+    private final String keyName;
+
+    RedisBloomBits(RedisPartitions partitions, String keyPrefix, String cacheName, BloomFilter layout) {
+        // The hash tag keeps the bitmap and its seed on one cluster slot for BITOP
+        this.keyName = keyPrefix + "thales:bloom:{" + cacheName + "}:" + layout.bitCount() + "x" + layout.hashCount();
+        this.key = keyName.getBytes(StandardCharsets.UTF_8);
+        this.connectionFactory = partitions.forKey(key);
+    }
+
+    /**
+     * Reads the shared bitmap with a plain GET, which is served by a replica when reads are routed to replicas.
+     *
+     * @return the shared bitmap, or null if no instance has written it yet
+     */
+    byte[] get() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return connection.stringCommands().get(key);
+        }
+    }
+
+    void set(long[] bits) {
+        BitFieldSubCommands commands = BitFieldSubCommands.create();
+        for (long bit : bits) {
+            commands = commands.set(BIT).valueAt(bit).to(1);
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.stringCommands().bitField(key, commands);
+        }
+    }
+
+    /**
+     * ORs a bitmap into the shared one.
+     *
+     * @return the shared bitmap after the merge, holding the keys added by every instance
+     */
+    byte[] merge(byte[] bitmap) {
+        byte[] seedKey = (keyName + ":seed:" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.stringCommands().set(seedKey, bitmap);
+            try {
+                connection.stringCommands().bitOp(RedisStringCommands.BitOperation.OR, key, key, seedKey);
+            } finally {
+                connection.keyCommands().del(seedKey);
+            }
+            byte[] merged = connection.stringCommands().get(key);
+            return merged != null ? merged : bitmap;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return keyName;
+    }
+}
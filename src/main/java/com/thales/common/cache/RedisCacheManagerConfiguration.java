@@ -1,7 +1,10 @@
 package com.thales.common.cache;
 
+import com.thales.common.profiling.RequestProfilingProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -9,10 +12,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
@@ -24,7 +25,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
-@Configuration
+@AutoConfiguration(
+        after = RedisConnectionConfiguration.class,
+        before = org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration.class)
 @EnableCaching
 @RequiredArgsConstructor
 @EnableConfigurationProperties(CacheProperties.class)
@@ -37,29 +40,64 @@ public class RedisCacheManagerConfiguration {
     @Primary
     @Bean(name = "cacheManager")
     @ConditionalOnBean(type = "org.springframework.data.redis.connection.RedisConnectionFactory")
-    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory,
+                                          ObjectProvider<CacheAccessSampler> cacheAccessSampler,
+                                          ObjectProvider<KnownKeyFilters> knownKeyFilters,
+                                          ObjectProvider<RedisPartitions> redisPartitions,
+                                          ObjectProvider<RequestProfilingProperties> requestProfiling) {
         log.info("Configuring Redis cache manager...");
 
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
 
         if (cacheProperties.getTtl() != null) {
             cacheProperties.getTtl().forEach((cacheName, ttl) ->
-                    cacheConfigurations.put(cacheName, createRedisCacheConfiguration(ttl)));
+                    cacheConfigurations.put(cacheName,
+                            createRedisCacheConfiguration(ttl, cacheProperties.getNegativeTtl().get(cacheName))));
         }
 
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(createRedisCacheConfiguration(cacheProperties.getRedis().getDefaultTtl()))
-                .withInitialCacheConfigurations(cacheConfigurations)
-                .transactionAware()
-                .build();
+        cacheProperties.getNegativeTtl().forEach((cacheName, negativeTtl) ->
+                cacheConfigurations.computeIfAbsent(cacheName, name ->
+                        createRedisCacheConfiguration(cacheProperties.getRedis().getDefaultTtl(), negativeTtl)));
+
+        if (cacheProperties.getHibernate().isEnabled()) {
+            // Update timestamps must outlive the cached query results they invalidate
+            cacheConfigurations.put(CacheRegionFactory.TIMESTAMPS_REGION, createRedisCacheConfiguration(Duration.ZERO, null));
+        }
+
+        // Caches also expose Lettuce-backed asynchronous writes to AsyncCacheUtil
+        // Keys are spread across thales.redis.partitions.nodes when configured
+        RedisPartitions partitions = redisPartitions.getIfAvailable(() -> RedisPartitions.single(redisConnectionFactory));
+        // Bloom filters are shared by all instances through the same Redis nodes
+        KnownKeyFilters filters = knownKeyFilters.getIfAvailable();
+        if (filters != null) {
+            filters.share(partitions, cacheProperties.getRedis().getKeyPrefix());
+        }
+        AsyncRedisCacheManager cacheManager = new AsyncRedisCacheManager(partitions,
+                createRedisCacheConfiguration(cacheProperties.getRedis().getDefaultTtl(), null),
+                cacheConfigurations,
+                cacheAccessSampler.getIfAvailable(),
+                filters);
+        cacheManager.setWriteBehind(cacheProperties.getWriteBehind());
+        if (cacheProperties.getCircuitBreaker().isEnabled()) {
+            cacheManager.setCircuitBreaker(cacheProperties.getCircuitBreaker());
+        }
+        // Present only when thales.profiling is enabled in a servlet application
+        cacheManager.setRequestProfiling(requestProfiling.getIfAvailable() != null);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
     }
 
-    private RedisCacheConfiguration createRedisCacheConfiguration(Duration ttl) {
-        return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(ttl)
+    /**
+     * @param negativeTtl TTL of cached null values; null disables caching null values
+     */
+    private RedisCacheConfiguration createRedisCacheConfiguration(Duration ttl, Duration negativeTtl) {
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(getRedisSerializer()))
-                .disableCachingNullValues();
+                        RedisSerializationContext.SerializationPair.fromSerializer(getRedisSerializer()));
+        if (negativeTtl == null) {
+            return configuration.entryTtl(ttl).disableCachingNullValues();
+        }
+        return configuration.entryTtl((key, value) -> value == null ? negativeTtl : ttl);
     }
 
     private RedisSerializer<?> getRedisSerializer() {
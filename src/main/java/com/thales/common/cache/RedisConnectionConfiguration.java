@@ -6,66 +6,189 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.OnPropertyListCondition;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 
 
 @Slf4j
-@Configuration
+@AutoConfiguration(before = RedisAutoConfiguration.class)
 @RequiredArgsConstructor
 @EnableConfigurationProperties(RedisProperties.class)
+@ConditionalOnClass(LettuceConnectionFactory.class)
 @ConditionalOnProperty(name = "thales.cache.type", havingValue = "REDIS")
 public class RedisConnectionConfiguration {
 
+    private static final boolean COMMONS_POOL2_PRESENT = ClassUtils.isPresent(
+            "org.apache.commons.pool2.impl.GenericObjectPool", RedisConnectionConfiguration.class.getClassLoader());
+
     private final RedisProperties redisProperties;
 
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
-        log.info("Redis bağlantısı yapılandırılıyor: {}:{}",
-                redisProperties.getHost(), redisProperties.getPort());
+        RedisConfiguration redisConfig = createRedisConfiguration();
 
-        RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration();
-        redisConfig.setHostName(redisProperties.getHost());
-        redisConfig.setPort(redisProperties.getPort());
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfig = createClientConfigurationBuilder();
+        clientConfig.commandTimeout(Duration.ofMillis(redisProperties.getTimeout()));
 
-        if (redisProperties.getPassword() != null && !redisProperties.getPassword().isEmpty()) {
-            redisConfig.setPassword(redisProperties.getPassword());
+        if (StringUtils.hasText(redisProperties.getReadFrom())) {
+            log.info("Redis okuma tercihi: {}", redisProperties.getReadFrom());
+            clientConfig.readFrom(ReadFrom.valueOf(redisProperties.getReadFrom()));
         }
 
-        if (redisProperties.getDatabase() >= 0) {
-            redisConfig.setDatabase(redisProperties.getDatabase());
+        if (redisConfig instanceof RedisClusterConfiguration) {
+            clientConfig.clientOptions(createClusterClientOptions());
         }
 
-        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
-                .commandTimeout(Duration.ofMillis(redisProperties.getTimeout()))
-                .build();
+        return new LettuceConnectionFactory(redisConfig, clientConfig.build());
+    }
+
+    /**
+     * Topolojiyi seçer: sentinel master adı verilmişse Sentinel, cluster düğümleri verilmişse Cluster,
+     * replika adresleri verilmişse statik master/replica, aksi halde tekil sunucu.
+     */
+    private RedisConfiguration createRedisConfiguration() {
+        RedisProperties.Sentinel sentinel = redisProperties.getSentinel();
+        RedisProperties.Cluster cluster = redisProperties.getCluster();
+
+        RedisConfiguration redisConfig;
+        if (StringUtils.hasText(sentinel.getMaster())) {
+            log.info("Redis Sentinel bağlantısı yapılandırılıyor: {} {}", sentinel.getMaster(), sentinel.getNodes());
+            RedisSentinelConfiguration sentinelConfig =
+                    new RedisSentinelConfiguration(sentinel.getMaster(), new LinkedHashSet<>(sentinel.getNodes()));
+            if (StringUtils.hasText(sentinel.getPassword())) {
+                sentinelConfig.setSentinelPassword(sentinel.getPassword());
+            }
+            redisConfig = sentinelConfig;
+        } else if (!cluster.getNodes().isEmpty()) {
+            log.info("Redis Cluster bağlantısı yapılandırılıyor: {}", cluster.getNodes());
+            RedisClusterConfiguration clusterConfig = new RedisClusterConfiguration(cluster.getNodes());
+            if (cluster.getMaxRedirects() != null) {
+                clusterConfig.setMaxRedirects(cluster.getMaxRedirects());
+            }
+            redisConfig = clusterConfig;
+        } else if (!redisProperties.getReplicas().isEmpty()) {
+            log.info("Redis master/replica bağlantısı yapılandırılıyor: {}:{} {}",
+                    redisProperties.getHost(), redisProperties.getPort(), redisProperties.getReplicas());
+            RedisStaticMasterReplicaConfiguration replicaConfig =
+                    new RedisStaticMasterReplicaConfiguration(redisProperties.getHost(), redisProperties.getPort());
+            redisProperties.getReplicas().forEach(replica -> {
+                RedisNode node = RedisNode.fromString(replica);
+                replicaConfig.node(node.getHost(), node.getPort());
+            });
+            redisConfig = replicaConfig;
+        } else {
+            log.info("Redis bağlantısı yapılandırılıyor: {}:{}",
+                    redisProperties.getHost(), redisProperties.getPort());
+            redisConfig = new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        }
 
-        return new LettuceConnectionFactory(redisConfig, clientConfig);
+        applyCredentials(redisConfig);
+        return redisConfig;
     }
 
+    private void applyCredentials(RedisConfiguration redisConfig) {
+        if (redisConfig instanceof RedisConfiguration.WithPassword withPassword
+                && redisProperties.getPassword() != null && !redisProperties.getPassword().isEmpty()) {
+            withPassword.setPassword(redisProperties.getPassword());
+        }
+
+        if (redisConfig instanceof RedisConfiguration.WithDatabaseIndex withDatabase
+                && redisProperties.getDatabase() >= 0) {
+            withDatabase.setDatabase(redisProperties.getDatabase());
+        }
+    }
+
+    /**
+     * Cache anahtarlarını bölüm düğümlerine dağıtır; her düğüm kendi bağlantı fabrikasını (ve havuzunu) kullanır.
+     * Şifre, veritabanı, zaman aşımı ve havuz ayarları tekil bağlantı ile aynıdır.
+     */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    @Conditional(OnPartitionNodesCondition.class)
+    public RedisPartitions redisPartitions() {
+        RedisProperties.Partitions partitions = redisProperties.getPartitions();
+        log.info("Redis cache bölümleri yapılandırılıyor: {}", partitions.getNodes());
+        Map<String, RedisConnectionFactory> nodes = new LinkedHashMap<>();
+        for (String address : partitions.getNodes()) {
+            RedisNode node = RedisNode.fromString(address);
+            RedisStandaloneConfiguration nodeConfig = new RedisStandaloneConfiguration(node.getHost(), node.getPort());
+            applyCredentials(nodeConfig);
+            LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfig = createClientConfigurationBuilder();
+            clientConfig.commandTimeout(Duration.ofMillis(redisProperties.getTimeout()));
+            nodes.put(node.getHost() + ":" + node.getPort(), new LettuceConnectionFactory(nodeConfig, clientConfig.build()));
+        }
+        return new RedisPartitions(nodes, partitions.getVirtualNodes());
+    }
+
+    private LettuceClientConfiguration.LettuceClientConfigurationBuilder createClientConfigurationBuilder() {
+        if (!redisProperties.isPoolEnabled()) {
+            return LettuceClientConfiguration.builder();
+        }
+        if (!COMMONS_POOL2_PRESENT) {
+            log.warn("thales.redis.pool-enabled=true fakat commons-pool2 sınıf yolunda yok; havuz kullanılmayacak");
+            return LettuceClientConfiguration.builder();
+        }
+        return PoolingClientConfiguration.builder(redisProperties);
+    }
+
+    /**
+     * Cluster topolojisi MOVED/ASK yönlendirmeleri ve bağlantı kopmalarında, isteğe bağlı olarak
+     * periyodik olarak da yenilenir; böylece failover sonrası okumalar yeni düğümlere yönlenir.
+     */
+    private ClusterClientOptions createClusterClientOptions() {
+        ClusterTopologyRefreshOptions.Builder refreshOptions = ClusterTopologyRefreshOptions.builder()
+                .enableAllAdaptiveRefreshTriggers();
+        if (redisProperties.getCluster().getRefreshPeriod() != null) {
+            refreshOptions.enablePeriodicRefresh(redisProperties.getCluster().getRefreshPeriod());
+        }
+        return ClusterClientOptions.builder()
+                .topologyRefreshOptions(refreshOptions.build())
+                .build();
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       GenericJackson2JsonRedisSerializer jsonRedisSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
 
-        template.setValueSerializer(jsonRedisSerializer());
-        template.setHashValueSerializer(jsonRedisSerializer());
+        template.setValueSerializer(jsonRedisSerializer);
+        template.setHashValueSerializer(jsonRedisSerializer);
 
         template.afterPropertiesSet();
         return template;
@@ -85,4 +208,29 @@ public class RedisConnectionConfiguration {
         );
         return new GenericJackson2JsonRedisSerializer(objectMapper);
     }
+
+    /**
+     * thales.redis.partitions.nodes hem virgüllü hem de liste (nodes[0]) biçiminde verilebilir.
+     */
+    static final class OnPartitionNodesCondition extends OnPropertyListCondition {
+
+        OnPartitionNodesCondition() {
+            super("thales.redis.partitions.nodes", () -> ConditionMessage.forCondition("Redis partitions"));
+        }
+    }
+
+    /**
+     * commons-pool2 tiplerini ana sınıfın dışında tutar; kütüphane olmadan da yapılandırma yüklenebilir.
+     */
+    private static final class PoolingClientConfiguration {
+
+        private static LettuceClientConfiguration.LettuceClientConfigurationBuilder builder(RedisProperties properties) {
+            GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+            poolConfig.setMaxTotal(properties.getMaxActive());
+            poolConfig.setMaxIdle(properties.getMaxIdle());
+            poolConfig.setMinIdle(properties.getMinIdle());
+            poolConfig.setMaxWait(Duration.ofMillis(properties.getMaxWait()));
+            return LettucePoolingClientConfiguration.builder().poolConfig(poolConfig);
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package com.thales.common.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Redis nodes the cache keys are partitioned across, each with its own connection factory. A key's node
+ * is chosen on a {@link ConsistentHashRing} over the serialized Redis key, so the cache key prefix is
+ * part of the hash and adding or removing a node only moves the keys of that node.
+ * <p>
+ * A single, unpartitioned connection factory is represented by {@link #single}.
+ */
+public class RedisPartitions implements InitializingBean, DisposableBean {
+
+    private final ConsistentHashRing<RedisConnectionFactory> ring;
+    private final Map<RedisConnectionFactory, String> nodeIds = new IdentityHashMap<>();
+    private final boolean ownsConnectionFactories;
+    private final ExecutorService executor;
+
+    /**
+     * Partitions across the given nodes, whose connection factories are started and destroyed with this bean.
+     *
+     * @param nodes connection factories by node id ({@code host:port})
+     * @param virtualNodes points of each node on the hash ring
+     */
+    public RedisPartitions(Map<String, RedisConnectionFactory> nodes, int virtualNodes) {
+        this(nodes, virtualNodes, true);
+    }
+
+    private RedisPartitions(Map<String, RedisConnectionFactory> nodes, int virtualNodes, boolean ownsConnectionFactories) {
+        this.ring = new ConsistentHashRing<>(nodes, virtualNodes);
+        nodes.forEach((id, connectionFactory) -> nodeIds.put(connectionFactory, id));
+        this.ownsConnectionFactories = ownsConnectionFactories;
+        this.executor = ring.nodes().size() > 1
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("redis-partition-", 0).factory())
+                : null;
+    }
+
+    /**
+     * @return a single partition on a connection factory managed elsewhere
+     */
+    public static RedisPartitions single(RedisConnectionFactory connectionFactory) {
+        return new RedisPartitions(Map.of("default", connectionFactory), 1, false);
+    }
+
+    /**
+     * @return the connection factory of the node owning the serialized Redis key
+     */
+    public RedisConnectionFactory forKey(byte[] key) {
+        return ring.nodeFor(key);
+    }
+
+    public List<RedisConnectionFactory> getConnectionFactories() {
+        return ring.nodes();
+    }
+
+    /**
+     * @return the id ({@code host:port}) of the node with the given connection factory
+     */
+    public String getNodeId(RedisConnectionFactory connectionFactory) {
+        return nodeIds.get(connectionFactory);
+    }
+
+    public boolean isPartitioned() {
+        return ring.nodes().size() > 1;
+    }
+
+    /**
+     * Splits the items by the node owning their key and runs the task for every node's share in parallel.
+     *
+     * @return the task results, one per node with items
+     */
+    public <I, R> List<R> executeByNode(Collection<I> items, Function<I, byte[]> keyOf,
+                                        BiFunction<RedisConnectionFactory, List<I>, R> task) {
+        if (!isPartitioned()) {
+            return items.isEmpty() ? List.of() : Collections.singletonList(task.apply(ring.nodes().get(0), List.copyOf(items)));
+        }
+        Map<RedisConnectionFactory, List<I>> byNode = new IdentityHashMap<>();
+        for (I item : items) {
+            byNode.computeIfAbsent(forKey(keyOf.apply(item)), node -> new ArrayList<>()).add(item);
+        }
+        return join(byNode.entrySet().stream()
+                .map(share -> CompletableFuture.supplyAsync(() -> task.apply(share.getKey(), share.getValue()), executor))
+                .toList());
+    }
+
+    /**
+     * Runs the task on every node in parallel.
+     *
+     * @return the task results in node order
+     */
+    public <R> List<R> executeOnAllNodes(Function<RedisConnectionFactory, R> task) {
+        if (!isPartitioned()) {
+            return Collections.singletonList(task.apply(ring.nodes().get(0)));
+        }
+        return join(ring.nodes().stream()
+                .map(node -> CompletableFuture.supplyAsync(() -> task.apply(node), executor))
+                .toList());
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (ownsConnectionFactories) {
+            for (RedisConnectionFactory connectionFactory : ring.nodes()) {
+                if (connectionFactory instanceof InitializingBean initializing) {
+                    initializing.afterPropertiesSet();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        if (ownsConnectionFactories) {
+            for (RedisConnectionFactory connectionFactory : ring.nodes()) {
+                if (connectionFactory instanceof DisposableBean disposable) {
+                    disposable.destroy();
+                }
+            }
+        }
+    }
+
+    private static <R> List<R> join(List<CompletableFuture<R>> futures) {
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+}
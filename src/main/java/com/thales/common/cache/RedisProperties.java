@@ -4,6 +4,10 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Redis bağlantı özelliklerini tanımlayan yapılandırma sınıfı.
  */
@@ -56,4 +60,104 @@ public class RedisProperties {
      * Havuzdaki maksimum boşta bağlantı sayısı.
      */
     private int maxIdle = 8;
-} 
\ No newline at end of file
+
+    /**
+     * Engelleyen ve transaction içindeki komutlar için bağlantı havuzu kullanılsın mı
+     * (commons-pool2 sınıf yolunda olmalıdır). Diğer komutlar paylaşılan bağlantıyı kullanır.
+     */
+    private boolean poolEnabled = true;
+
+    /**
+     * Okuma komutlarının yönlendirileceği düğüm tercihi (Lettuce ReadFrom adı):
+     * upstream, upstreamPreferred, replica, replicaPreferred, nearest, any.
+     * Boş bırakılırsa tüm komutlar ana düğüme gider.
+     */
+    private String readFrom;
+
+    /**
+     * Tekil kurulumda okuma için kullanılacak replika adresleri (host:port).
+     * readFrom ile birlikte statik master/replica yapılandırması kurulur.
+     */
+    private List<String> replicas = new ArrayList<>();
+
+    /**
+     * Sentinel yapılandırması.
+     */
+    private final Sentinel sentinel = new Sentinel();
+
+    /**
+     * Cluster yapılandırması.
+     */
+    private final Cluster cluster = new Cluster();
+
+    /**
+     * Cache anahtarlarının istemci tarafında dağıtıldığı tekil Redis düğümleri.
+     */
+    private final Partitions partitions = new Partitions();
+
+    /**
+     * Sentinel topolojisi; master adı verildiğinde kullanılır.
+     */
+    @Getter
+    @Setter
+    public static class Sentinel {
+
+        /**
+         * Sentinel tarafından izlenen master adı.
+         */
+        private String master;
+
+        /**
+         * Sentinel düğümleri (host:port).
+         */
+        private List<String> nodes = new ArrayList<>();
+
+        /**
+         * Sentinel düğümlerinin şifresi (varsa).
+         */
+        private String password;
+    }
+
+    /**
+     * Cluster topolojisi; düğüm listesi verildiğinde kullanılır.
+     */
+    @Getter
+    @Setter
+    public static class Cluster {
+
+        /**
+         * Başlangıç cluster düğümleri (host:port).
+         */
+        private List<String> nodes = new ArrayList<>();
+
+        /**
+         * Cluster yönlendirmelerinde izlenecek maksimum yönlendirme sayısı.
+         */
+        private Integer maxRedirects;
+
+        /**
+         * Topolojinin periyodik olarak yenilenme aralığı. Boş bırakılırsa yalnızca
+         * MOVED/ASK yönlendirmeleri ve bağlantı kopmaları yenilemeyi tetikler.
+         */
+        private Duration refreshPeriod;
+    }
+
+    /**
+     * Cache için istemci tarafı bölümleme; düğüm listesi verildiğinde cache anahtarları bu düğümlere
+     * tutarlı özetleme (consistent hashing) ile dağıtılır. RedisTemplate tekil bağlantıyı kullanmaya devam eder.
+     */
+    @Getter
+    @Setter
+    public static class Partitions {
+
+        /**
+         * Bölüm düğümleri (host:port). Bir düğümün anahtarları, adresi değişmediği sürece aynı kalır.
+         */
+        private List<String> nodes = new ArrayList<>();
+
+        /**
+         * Her düğümün özet halkasındaki sanal nokta sayısı; arttıkça anahtarlar daha dengeli dağılır.
+         */
+        private int virtualNodes = 160;
+    }
+}
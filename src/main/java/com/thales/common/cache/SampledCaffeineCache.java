@@ -0,0 +1,66 @@
+package com.thales.common.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link CaffeineCache} reporting key accesses to a {@link CacheAccessSampler}.
+ * Values are kept on the heap without serialization, so no value sizes are recorded.
+ */
+public class SampledCaffeineCache extends CaffeineCache {
+
+    private final CacheAccessSampler sampler;
+
+    public SampledCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues,
+                                CacheAccessSampler sampler) {
+        super(name, cache, allowNullValues);
+        this.sampler = sampler;
+    }
+
+    public SampledCaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues,
+                                CacheAccessSampler sampler) {
+        super(name, cache, allowNullValues);
+        this.sampler = sampler;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        sampler.recordAccess(getName(), key);
+        return super.lookup(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        sampler.recordAccess(getName(), key);
+        return super.get(key, valueLoader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        sampler.recordAccess(getName(), key);
+        return super.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        sampler.recordAccess(getName(), key);
+        return super.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        sampler.recordAccess(getName(), key);
+        super.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        sampler.recordAccess(getName(), key);
+        return super.putIfAbsent(key, value);
+    }
+}
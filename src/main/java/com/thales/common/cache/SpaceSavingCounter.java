@@ -0,0 +1,75 @@
+package com.thales.common.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming top-K counter using the Space-Saving algorithm: a fixed number of counters is kept and
+ * an unseen item replaces the least frequent one, inheriting its count as the error bound.
+ * Every item whose true frequency exceeds {@code total / capacity} is guaranteed to be tracked.
+ */
+final class SpaceSavingCounter {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private long total;
+
+    SpaceSavingCounter(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    synchronized void add(String item) {
+        total++;
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter(1, 0));
+            return;
+        }
+        String minItem = null;
+        Counter min = null;
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            if (min == null || entry.getValue().count < min.count) {
+                minItem = entry.getKey();
+                min = entry.getValue();
+            }
+        }
+        counters.remove(minItem);
+        counters.put(item, new Counter(min.count + 1, min.count));
+    }
+
+    synchronized long total() {
+        return total;
+    }
+
+    /**
+     * @return up to {@code limit} items with their counts and error bounds, most frequent first
+     */
+    synchronized List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        counters.forEach((item, counter) -> entries.add(new Entry(item, counter.count, counter.error)));
+        entries.sort(Comparator.comparingLong(Entry::count).reversed());
+        return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+    }
+
+    record Entry(String item, long count, long error) {
+    }
+
+    private static final class Counter {
+
+        private long count;
+        private final long error;
+
+        private Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.thales.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link AsyncRedisCache} whose puts and evictions are queued and written to Redis in pipelined
+ * batches by a background worker, instead of one command per call on the caller's thread.
+ * <p>
+ * Pending writes are keyed by their Redis key, so repeated writes of a key are coalesced and only the
+ * last one is sent. Reads of a key with a pending write are answered from the queue, so a caller
+ * always sees its own writes. When the queue is full, writes of keys not already pending go to Redis
+ * directly. {@link #putIfAbsent} and {@link #clear()} are never deferred.
+ * <p>
+ * The TTL of a put counts from the time it was queued. A write whose batch fails is retried by later
+ * flushes, up to {@code max-attempts} flushes, and then dropped and counted. Once the cache is closed on
+ * shutdown, writes are no longer queued: they replace the key's pending write, if any, and go to Redis directly.
+ */
+@Slf4j
+public class WriteBehindRedisCache extends AsyncRedisCache {
+
+    private final Map<ByteBuffer, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+    private final CacheProperties.WriteBehind writeBehind;
+    private final Executor flushExecutor;
+
+    /**
+     * @param flushExecutor runs the flush started when a full batch is pending
+     */
+    protected WriteBehindRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+                                    RedisPartitions partitions, CacheAccessSampler sampler,
+                                    CacheProperties.WriteBehind writeBehind, Executor flushExecutor) {
+        super(name, cacheWriter, cacheConfiguration, partitions, sampler);
+        this.writeBehind = writeBehind;
+        this.flushExecutor = flushExecutor;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        PendingWrite write = pending.get(ByteBuffer.wrap(binaryKey(key)));
+        if (write != null) {
+            recordAccess(key);
+            return write.storeValue();
+        }
+        return super.lookup(key);
+    }
+
+    @Override
+    public CompletableFuture<ValueWrapper> retrieve(Object key) {
+        PendingWrite write = pending.get(ByteBuffer.wrap(binaryKey(key)));
+        if (write != null) {
+            recordAccess(key);
+            return CompletableFuture.completedFuture(toValueWrapper(write.storeValue()));
+        }
+        return super.retrieve(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        PendingWrite write = pending.get(ByteBuffer.wrap(binaryKey(key)));
+        if (write == null) {
+            return super.retrieve(key, valueLoader);
+        }
+        recordAccess(key);
+        if (write.isEviction()) {
+            return valueLoader.get().thenCompose(value -> putAsync(key, value).thenApply(ignored -> value));
+        }
+        return CompletableFuture.completedFuture((T) fromStoreValue(write.storeValue()));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        recordAccess(key);
+        if (!enqueue(key, value, false)) {
+            super.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        PendingWrite write = pending.get(ByteBuffer.wrap(binaryKey(key)));
+        if (write == null) {
+            return super.putIfAbsent(key, value);
+        }
+        recordAccess(key);
+        if (!write.isEviction()) {
+            return toValueWrapper(write.storeValue());
+        }
+        // The key is absent once the pending eviction is written, so the eviction becomes this put
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (!enqueue(key, null, true)) {
+            super.evict(key);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        recordAccess(key);
+        try {
+            if (enqueue(key, value, false)) {
+                return CompletableFuture.completedFuture(null);
+            }
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return super.putAsync(key, value);
+    }
+
+    @Override
+    public CompletableFuture<Void> evictAsync(Object key) {
+        return enqueue(key, null, true) ? CompletableFuture.completedFuture(null) : super.evictAsync(key);
+    }
+
+    @Override
+    public void clear() {
+        pending.clear();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        pending.clear();
+        return super.invalidate();
+    }
+
+    /**
+     * Writes all pending puts and evictions, split by Redis node: each node's share is pipelined in batches
+     * of at most {@code max-batch-size}, the nodes in parallel. A node that fails keeps its remaining writes
+     * pending for the next flush, without holding back the other nodes. Does nothing if a flush is already running.
+     */
+    public void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Writes queued during a pass are flushed by the next one, unless a node failed
+            while (!pending.isEmpty()) {
+                List<Boolean> written = getPartitions().executeByNode(snapshot(), entry -> entry.getValue().binaryKey(),
+                        this::writeShare);
+                if (written.contains(false)) {
+                    return;
+                }
+            }
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    /**
+     * @return the number of keys with a write not yet sent to Redis
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return the number of writes dropped after failing {@code max-attempts} flushes
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops queueing writes: later writes go to Redis directly. Called when the cache manager shuts down.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * @return false if the cache is closed, or if the queue is full and the key has no pending write to coalesce with;
+     * the caller then writes to Redis directly, and the key's pending write, if any, has been dropped
+     */
+    private boolean enqueue(Object key, Object value, boolean eviction) {
+        ByteBuffer redisKey = ByteBuffer.wrap(binaryKey(key));
+        if (closed || (pending.size() >= writeBehind.getQueueCapacity() && !pending.containsKey(redisKey))) {
+            // An older queued write must neither be read back nor overwrite the direct write when flushed
+            pending.remove(redisKey);
+            return false;
+        }
+        long now = System.nanoTime();
+        PendingWrite write = eviction
+                ? new PendingWrite(null, redisKey.array(), null, null, now, 0)
+                : new PendingWrite(preProcessCacheValue(value), redisKey.array(), serializeValue(key, value),
+                        timeToLive(key, value), now, 0);
+        pending.put(redisKey, write);
+        if (pending.size() >= writeBehind.getMaxBatchSize() && !flushing.get()) {
+            try {
+                flushExecutor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // The manager is shutting down
+                flush();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keeps a write of a failed batch pending for the next flush, or drops it after {@code max-attempts} flushes.
+     */
+    private void retryOrDrop(Map.Entry<ByteBuffer, PendingWrite> entry) {
+        PendingWrite write = entry.getValue();
+        if (write.attempts() + 1 < writeBehind.getMaxAttempts()) {
+            // A key written again meanwhile keeps its newer write and attempt count
+            pending.replace(entry.getKey(), write, write.retried());
+        } else if (pending.remove(entry.getKey(), write)) {
+            dropped.increment();
+            log.error("Dropped a write-behind {} of cache '{}' after {} failed flushes",
+                    write.isEviction() ? "eviction" : "put", getName(), write.attempts() + 1);
+        }
+    }
+
+    private List<Map.Entry<ByteBuffer, PendingWrite>> snapshot() {
+        List<Map.Entry<ByteBuffer, PendingWrite>> writes = new ArrayList<>(pending.size());
+        for (Map.Entry<ByteBuffer, PendingWrite> entry : pending.entrySet()) {
+            writes.add(Map.entry(entry.getKey(), entry.getValue()));
+        }
+        return writes;
+    }
+
+    /**
+     * Writes one node's share batch by batch, stopping at the first batch that fails.
+     *
+     * @return whether the whole share was written
+     */
+    private boolean writeShare(RedisConnectionFactory connectionFactory, List<Map.Entry<ByteBuffer, PendingWrite>> share) {
+        for (int from = 0; from < share.size(); from += writeBehind.getMaxBatchSize()) {
+            List<Map.Entry<ByteBuffer, PendingWrite>> batch =
+                    share.subList(from, Math.min(from + writeBehind.getMaxBatchSize(), share.size()));
+            if (!write(connectionFactory, batch)) {
+                batch.forEach(this::retryOrDrop);
+                return false;
+            }
+            // A key written again while the batch was in flight keeps its newer pending write
+            batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+        }
+        return true;
+    }
+
+    private boolean write(RedisConnectionFactory connectionFactory, List<Map.Entry<ByteBuffer, PendingWrite>> batch) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (Map.Entry<ByteBuffer, PendingWrite> entry : batch) {
+                PendingWrite write = entry.getValue();
+                Duration ttl = write.remainingTtl(System.nanoTime());
+                if (write.isEviction() || (ttl != null && ttl.isZero())) {
+                    // An entry that expired while queued must not leave an older value behind
+                    connection.keyCommands().del(write.binaryKey());
+                } else {
+                    connection.stringCommands().set(write.binaryKey(), write.binaryValue(),
+                            expiration(ttl), SetOption.upsert());
+                }
+            }
+            connection.closePipeline();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush of {} writes to cache '{}' failed, retrying later: {}",
+                    batch.size(), getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static Expiration expiration(Duration ttl) {
+        return ttl != null ? Expiration.from(ttl) : Expiration.persistent();
+    }
+
+    /**
+     * A put (with its store and serialized value) or, when {@code binaryValue} is null, an eviction.
+     *
+     * @param queuedAtNanos when the write was queued, the start of its TTL
+     * @param attempts number of failed flushes of this write
+     */
+    private record PendingWrite(Object storeValue, byte[] binaryKey, byte[] binaryValue, Duration ttl,
+                                long queuedAtNanos, int attempts) {
+
+        boolean isEviction() {
+            return binaryValue == null;
+        }
+
+        /**
+         * @return the TTL left at the given time, zero once expired, or null if the entry does not expire
+         */
+        Duration remainingTtl(long now) {
+            if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+                return null;
+            }
+            long remainingMillis = ttl.toMillis() - Duration.ofNanos(now - queuedAtNanos).toMillis();
+            return remainingMillis > 0 ? Duration.ofMillis(remainingMillis) : Duration.ZERO;
+        }
+
+        PendingWrite retried() {
+            return new PendingWrite(storeValue, binaryKey, binaryValue, ttl, queuedAtNanos, attempts + 1);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.thales.common.concurrent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@AutoConfiguration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(FanOutProperties.class)
+public class FanOutConfiguration {
+
+    private final FanOutProperties fanOutProperties;
+
+    /**
+     * Lazy: the executor and its threads are only created once a fan-out is first used.
+     */
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean
+    public FanOutExecutor fanOutExecutor() {
+        ExecutorService executorService;
+        if (fanOutProperties.isVirtualThreads()) {
+            executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fan-out-", 0).factory());
+        } else {
+            log.info("Configuring fan-out executor with {} platform threads", fanOutProperties.getPoolSize());
+            executorService = Executors.newFixedThreadPool(fanOutProperties.getPoolSize());
+        }
+        return new FanOutExecutor(executorService, fanOutProperties.getDefaultTimeout());
+    }
+
+    /**
+     * Propagates the request context to Spring-managed task executors (e.g. {@code @Async} methods).
+     * Opt-in, since every {@code ThreadPoolTaskExecutor} built by Spring Boot picks the bean up.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "thales.fan-out.task-decorator", havingValue = "true")
+    public TaskDecorator requestContextTaskDecorator() {
+        return RequestContextSnapshot::wrap;
+    }
+}
@@ -0,0 +1,89 @@
+package com.thales.common.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs independent calls (typically Feign calls to upstream services) in parallel with a shared deadline.
+ * Tasks run with the caller's request attributes, MDC and tracing context,
+ * so Feign calls keep forwarding the Authorization header.
+ * <p>
+ * Tasks still running at the deadline are cancelled and reported as timed out; failures of
+ * individual tasks are reported in the result instead of failing the whole fan-out.
+ */
+@Slf4j
+public class FanOutExecutor implements DisposableBean {
+
+    private final ExecutorService executorService;
+    private final Duration defaultTimeout;
+
+    public FanOutExecutor(ExecutorService executorService, Duration defaultTimeout) {
+        this.executorService = new ContextPropagatingExecutorService(executorService);
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    /**
+     * Runs the tasks in parallel using the default timeout.
+     */
+    public <T> FanOutResult<T> invokeAll(List<? extends Callable<T>> tasks) throws InterruptedException {
+        return invokeAll(tasks, defaultTimeout);
+    }
+
+    /**
+     * Runs the tasks in parallel and waits until all have finished or the timeout has elapsed.
+     *
+     * @param tasks the tasks to run
+     * @param timeout deadline for all tasks together
+     * @return one outcome per task, in task order
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public <T> FanOutResult<T> invokeAll(List<? extends Callable<T>> tasks, Duration timeout) throws InterruptedException {
+        List<Future<T>> futures = executorService.invokeAll(tasks, timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+        List<FanOutResult.Outcome<T>> outcomes = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            outcomes.add(outcomeOf(future));
+        }
+        FanOutResult<T> result = new FanOutResult<>(outcomes);
+        if (!result.isComplete()) {
+            log.debug("Fan-out of {} tasks finished with {} successful result(s)", tasks.size(),
+                    outcomes.stream().filter(FanOutResult.Outcome::isSuccess).count());
+        }
+        return result;
+    }
+
+    /**
+     * @return the context-propagating executor used for the tasks, for use with {@code CompletableFuture}
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdown();
+    }
+
+    private static <T> FanOutResult.Outcome<T> outcomeOf(Future<T> future) {
+        try {
+            return new FanOutResult.Outcome<>(future.get(), null, false);
+        } catch (CancellationException e) {
+            return new FanOutResult.Outcome<>(null, null, true);
+        } catch (ExecutionException e) {
+            return new FanOutResult.Outcome<>(null, e.getCause(), false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new FanOutResult.Outcome<>(null, e, false);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.thales.common.concurrent;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Properties class for parallel fan-out configuration.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "thales.fan-out")
+public class FanOutProperties {
+
+    /**
+     * Whether tasks run on virtual threads (one per task)
+     */
+    private boolean virtualThreads = true;
+
+    /**
+     * Size of the platform thread pool used when virtual threads are disabled
+     */
+    private int poolSize = 32;
+
+    /**
+     * Deadline applied when no timeout is given
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Whether a TaskDecorator bean propagates the request context to Spring-managed task executors
+     */
+    private boolean taskDecorator = false;
+}
@@ -0,0 +1,49 @@
+package com.thales.common.concurrent;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Outcomes of a fan-out, in the same order as the submitted tasks.
+ *
+ * @param <T> result type of the tasks
+ */
+public record FanOutResult<T>(List<Outcome<T>> outcomes) {
+
+    /**
+     * @return the results of the tasks that completed successfully (null results are skipped)
+     */
+    public List<T> successes() {
+        return outcomes.stream()
+                .filter(Outcome::isSuccess)
+                .map(Outcome::value)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * @return true if every task completed successfully before the deadline
+     */
+    public boolean isComplete() {
+        return outcomes.stream().allMatch(Outcome::isSuccess);
+    }
+
+    /**
+     * @return the result of the task at the given index, or empty if it failed or timed out
+     */
+    public Optional<T> get(int index) {
+        Outcome<T> outcome = outcomes.get(index);
+        return outcome.isSuccess() ? Optional.ofNullable(outcome.value()) : Optional.empty();
+    }
+
+    /**
+     * Outcome of a single task: a value, a failure, or a timeout.
+     */
+    public record Outcome<T>(T value, Throwable error, boolean timedOut) {
+
+        public boolean isSuccess() {
+            return error == null && !timedOut;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.thales.common.concurrent;
+
+import com.thales.common.profiling.RequestProfile;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.slf4j.MDC;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Thread-bound context captured on the calling thread and restored around a task on another thread:
+ * request attributes (used by {@code FeignClientInterceptor} to forward the Authorization header),
+ * the request profile, the MDC and the Micrometer tracing/observation context.
+ * <p>
+ * The transaction is not carried over: a task that needs the replica runs its own read-only transaction,
+ * since {@code RoutingDataSource} routes on the read-only flag of the task thread's transaction.
+ */
+public final class RequestContextSnapshot {
+
+    private static final ContextSnapshotFactory SNAPSHOT_FACTORY = ContextSnapshotFactory.builder().build();
+
+    private final RequestAttributes requestAttributes;
+    private final RequestProfile requestProfile;
+    private final Map<String, String> mdc;
+    private final ContextSnapshot observationContext;
+
+    private RequestContextSnapshot() {
+        this.requestAttributes = RequestContextHolder.getRequestAttributes();
+        this.requestProfile = RequestProfile.current();
+        this.mdc = MDC.getCopyOfContextMap();
+        this.observationContext = SNAPSHOT_FACTORY.captureAll();
+    }
+
+    /**
+     * Captures the context of the current thread.
+     */
+    public static RequestContextSnapshot capture() {
+        return new RequestContextSnapshot();
+    }
+
+    /**
+     * Returns a runnable that runs the task with the context captured now.
+     */
+    public static Runnable wrap(Runnable task) {
+        RequestContextSnapshot snapshot = capture();
+        return () -> snapshot.run(task);
+    }
+
+    /**
+     * Returns a callable that runs the task with the context captured now.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        RequestContextSnapshot snapshot = capture();
+        return () -> snapshot.call(task);
+    }
+
+    /**
+     * Runs the task on the current thread with the captured context, restoring the previous context afterwards.
+     */
+    public void run(Runnable task) {
+        try {
+            call(() -> {
+                task.run();
+                return null;
+            });
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Calls the task on the current thread with the captured context, restoring the previous context afterwards.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+        Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        setMdc(mdc);
+        RequestProfile previousProfile = RequestProfile.bind(requestProfile);
+        ContextSnapshot.Scope observationScope = observationContext.setThreadLocals();
+        try {
+            return task.call();
+        } finally {
+            observationScope.close();
+            RequestProfile.bind(previousProfile);
+            setMdc(previousMdc);
+            RequestContextHolder.setRequestAttributes(previousAttributes);
+        }
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.thales.common.config;
 
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
-import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -11,7 +10,6 @@ import java.util.Objects;
 /**
  * İstek token'larını Feign Client üzerinden yönlendirmek için interceptor
  */
-@Component
 public class FeignClientInterceptor implements RequestInterceptor {
     
     private static final String AUTHORIZATION_HEADER = "Authorization";
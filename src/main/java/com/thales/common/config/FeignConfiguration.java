@@ -0,0 +1,21 @@
+package com.thales.common.config;
+
+import feign.RequestInterceptor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Feign client configuration shared by all services.
+ */
+@AutoConfiguration
+@ConditionalOnClass(RequestInterceptor.class)
+public class FeignConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public FeignClientInterceptor feignClientInterceptor() {
+        return new FeignClientInterceptor();
+    }
+}
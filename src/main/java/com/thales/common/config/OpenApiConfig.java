@@ -9,15 +9,23 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
 
 import java.util.List;
 
 /**
  * OpenAPI/Swagger configuration for RESTful APIs
  */
-@Configuration
+@AutoConfiguration
+@ConditionalOnClass(OpenAPI.class)
+@EnableConfigurationProperties(OpenApiProperties.class)
 public class OpenApiConfig {
 
     @Value("${springdoc.server.url:http://localhost:8080}")
@@ -45,6 +53,7 @@ public class OpenApiConfig {
     private String licenseUrl;
 
     @Bean
+    @ConditionalOnMissingBean
     public OpenAPI openAPI() {
         Server localServer = new Server()
                 .url(serverUrl)
@@ -84,4 +93,12 @@ public class OpenApiConfig {
                 .components(new Components().addSecuritySchemes("bearerAuth", securityScheme))
                 .addSecurityItem(securityRequirement);
     }
-} 
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "thales.openapi.prebuilt.enabled", havingValue = "true")
+    public PrebuiltOpenApiController prebuiltOpenApiController(OpenApiProperties openApiProperties,
+                                                               ResourceLoader resourceLoader) {
+        return new PrebuiltOpenApiController(openApiProperties, resourceLoader);
+    }
+}
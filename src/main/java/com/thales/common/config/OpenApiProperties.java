@@ -0,0 +1,41 @@
+package com.thales.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties class for serving an OpenAPI document generated at build time.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "thales.openapi")
+public class OpenApiProperties {
+
+    /**
+     * Pre-built OpenAPI document configuration
+     */
+    private final Prebuilt prebuilt = new Prebuilt();
+
+    /**
+     * Inner class for the pre-built OpenAPI document
+     */
+    @Getter
+    @Setter
+    public static class Prebuilt {
+        /**
+         * Whether the pre-built document is served instead of scanning controllers at runtime
+         */
+        private boolean enabled = false;
+
+        /**
+         * Location of the document generated at build time
+         */
+        private String location = "classpath:/openapi/openapi.json";
+
+        /**
+         * Path the document is served on
+         */
+        private String path = "/v3/api-docs";
+    }
+}
@@ -0,0 +1,126 @@
+package com.thales.common.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the OpenAPI document generated at build time from memory, pre-compressed with gzip.
+ * The identity and gzip bodies carry distinct ETags; conditional requests are answered with 304
+ * by Spring MVC from the returned entity's headers, which include {@code Vary: Accept-Encoding}.
+ * Springdoc's runtime endpoint is disabled by {@link PrebuiltOpenApiEnvironmentPostProcessor},
+ * so controllers are never scanned.
+ * Registered by {@link OpenApiConfig} when {@code thales.openapi.prebuilt.enabled=true}; the condition is repeated
+ * on the class for applications that component-scan {@code com.thales}.
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "thales.openapi.prebuilt.enabled", havingValue = "true")
+public class PrebuiltOpenApiController {
+
+    private final byte[] document;
+    private final byte[] gzippedDocument;
+    private final String etag;
+    private final String gzipEtag;
+
+    public PrebuiltOpenApiController(OpenApiProperties openApiProperties, ResourceLoader resourceLoader) {
+        Resource resource = resourceLoader.getResource(openApiProperties.getPrebuilt().getLocation());
+        this.document = read(resource);
+        this.gzippedDocument = document != null ? gzip(document) : null;
+        String digest = document != null ? DigestUtils.md5DigestAsHex(document) : null;
+        this.etag = digest != null ? "\"" + digest + "\"" : null;
+        this.gzipEtag = digest != null ? "\"" + digest + "-gzip\"" : null;
+        if (document == null) {
+            log.warn("Pre-built OpenAPI document not found at {}", openApiProperties.getPrebuilt().getLocation());
+        } else {
+            log.info("Serving pre-built OpenAPI document ({} bytes, {} gzipped)", document.length, gzippedDocument.length);
+        }
+    }
+
+    @GetMapping(value = "${thales.openapi.prebuilt.path:/v3/api-docs}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> openApi(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (document == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(gzipEtag).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzippedDocument);
+        }
+        return response.eTag(etag).body(document);
+    }
+
+    /**
+     * @return whether the Accept-Encoding header allows gzip, i.e. lists {@code gzip} or {@code *}
+     * with a non-zero q-value (e.g. {@code gzip;q=0} refuses it)
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim();
+            boolean accepted = quality(parts) > 0;
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] read(Resource resource) {
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read pre-built OpenAPI document " + resource, e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
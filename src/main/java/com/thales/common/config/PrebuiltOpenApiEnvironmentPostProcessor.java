@@ -0,0 +1,37 @@
+package com.thales.common.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * When the pre-built OpenAPI document is enabled, disables springdoc's runtime endpoint so controllers
+ * are never scanned, and points Swagger UI at the pre-built document. Explicit application settings still win:
+ * an application that re-enables springdoc gets its runtime endpoint at {@code /v3/api-docs-runtime}, and
+ * startup fails if it also maps that endpoint onto the pre-built document's path.
+ */
+public class PrebuiltOpenApiEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String PROPERTY_SOURCE_NAME = "thalesPrebuiltOpenApi";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty("thales.openapi.prebuilt.enabled", Boolean.class, false)) {
+            return;
+        }
+        String path = environment.getProperty("thales.openapi.prebuilt.path", "/v3/api-docs");
+        environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of(
+                "springdoc.api-docs.enabled", "false",
+                "springdoc.api-docs.path", "/v3/api-docs-runtime",
+                "springdoc.pre-loading-enabled", "false",
+                "springdoc.swagger-ui.url", path)));
+        if (environment.getProperty("springdoc.api-docs.enabled", Boolean.class, true)
+                && path.equals(environment.getProperty("springdoc.api-docs.path"))) {
+            throw new IllegalStateException("springdoc.api-docs.path and thales.openapi.prebuilt.path are both '" + path
+                    + "'; move springdoc's runtime endpoint or disable it with springdoc.api-docs.enabled=false");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.thales.common.datasource;
+
+import com.thales.common.profiling.RequestProfile;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Proxies a connection so that the statements it creates record their {@code execute*} calls as queries
+ * in a {@link RequestProfile}. A statement's {@code getConnection()} returns the connection proxy.
+ */
+final class QueryTimingHandler implements InvocationHandler {
+
+    private final Object target;
+    private final Connection connection;
+    private final RequestProfile profile;
+    private final DataSourceType type;
+
+    /**
+     * @param connection the proxy of the connection that created the statement target; null for a connection
+     */
+    private QueryTimingHandler(Object target, Connection connection, RequestProfile profile, DataSourceType type) {
+        this.target = target;
+        this.connection = connection;
+        this.profile = profile;
+        this.type = type;
+    }
+
+    static Connection wrap(Connection connection, RequestProfile profile, DataSourceType type) {
+        return proxy(connection, Connection.class, null, profile, type);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "getConnection":
+                if (connection != null) {
+                    return connection;
+                }
+                break;
+            default:
+                break;
+        }
+        if (target instanceof Statement && method.getName().startsWith("execute")) {
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(method, args);
+            } finally {
+                profile.recordQuery(type, System.nanoTime() - start);
+            }
+        }
+        Object result = invokeTarget(method, args);
+        if (target instanceof Connection && result instanceof Statement
+                && Statement.class.isAssignableFrom(method.getReturnType())) {
+            // Statement, PreparedStatement or CallableStatement, as declared by the factory method
+            return proxy(result, method.getReturnType(), (Connection) proxy, profile, type);
+        }
+        return result;
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static <T> T proxy(Object target, Class<T> type, Connection connection, RequestProfile profile,
+                               DataSourceType dataSourceType) {
+        return type.cast(Proxy.newProxyInstance(QueryTimingHandler.class.getClassLoader(), new Class<?>[]{type},
+                new QueryTimingHandler(target, connection, profile, dataSourceType)));
+    }
+}
@@ -1,9 +1,13 @@
 package com.thales.common.datasource;
 
+import com.thales.common.profiling.RequestProfile;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+
 @Slf4j
 public class RoutingDataSource extends AbstractRoutingDataSource {
 
@@ -19,4 +23,18 @@ public class RoutingDataSource extends AbstractRoutingDataSource {
         log.trace("Routing DB request to: {} (readOnly={})", type, readOnly);
         return type;
     }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return super.getConnection();
+        }
+        // Records the acquisition and the queries on the connection per datasource
+        DataSourceType type = (DataSourceType) determineCurrentLookupKey();
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        profile.recordConnectionAcquire(type, System.nanoTime() - start);
+        return QueryTimingHandler.wrap(connection, profile, type);
+    }
 }
@@ -0,0 +1,59 @@
+package com.thales.common.feign;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a single-item Feign client method whose concurrent calls should be merged
+ * into one call of a batch method on the same client.
+ * <p>
+ * Example:
+ * <pre>
+ * &#64;FeignClient(name = "item-service")
+ * public interface ItemClient {
+ *
+ *     &#64;CollapsedBy(batchMethod = "getItems")
+ *     &#64;GetMapping("/items/{id}")
+ *     ItemDto getItem(&#64;PathVariable Long id);
+ *
+ *     &#64;GetMapping("/items")
+ *     List&lt;ItemDto&gt; getItems(&#64;RequestParam("ids") Collection&lt;Long&gt; ids);
+ * }
+ * </pre>
+ * The batch method must take a single {@link java.util.Collection} of ids and return either a
+ * {@link java.util.Map} keyed by id or a collection of elements exposing {@link #idProperty()}.
+ * Ids missing from the batch response resolve to {@code null}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CollapsedBy {
+
+    /**
+     * Name of the batch method on the same Feign client.
+     */
+    String batchMethod();
+
+    /**
+     * Property of the returned elements holding the id (ignored when the batch method returns a Map).
+     */
+    String idProperty() default "id";
+
+    /**
+     * How long to wait for more calls before the batch is sent (milliseconds).
+     */
+    long windowMillis() default 10;
+
+    /**
+     * Maximum number of ids sent in one batch call; a full batch is sent immediately.
+     */
+    int maxBatchSize() default 100;
+
+    /**
+     * Maximum time a caller waits for its batch (milliseconds); should exceed the batch call's read timeout.
+     */
+    long timeoutMillis() default 60_000;
+}
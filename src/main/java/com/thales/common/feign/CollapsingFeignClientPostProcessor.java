@@ -0,0 +1,269 @@
+package com.thales.common.feign;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Wraps Feign clients that declare {@link CollapsedBy} methods so that concurrent calls
+ * of those methods are merged into batch calls.
+ * <p>
+ * Calls are only merged within the same Authorization scope: each scope's calls are sent as a separate
+ * batch call, which runs with the request attributes of one of that scope's callers so
+ * {@code FeignClientInterceptor} still forwards the caller's token. A failing batch call, e.g. a 401 for
+ * one token, only fails the calls of its own scope.
+ */
+@Slf4j
+public class CollapsingFeignClientPostProcessor implements BeanPostProcessor, DisposableBean {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+    private final List<RequestCollapser<?, ?>> collapsers = new CopyOnWriteArrayList<>();
+
+    public CollapsingFeignClientPostProcessor() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "feign-collapser-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        this.scheduler = timer;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("feign-collapser-", 0).factory());
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?>[] interfaces = bean.getClass().getInterfaces();
+        for (Class<?> clientInterface : interfaces) {
+            if (AnnotationUtils.findAnnotation(clientInterface, FeignClient.class) == null) {
+                continue;
+            }
+            Map<Method, CollapsedMethod> collapsedMethods = new HashMap<>();
+            for (Method method : clientInterface.getMethods()) {
+                CollapsedBy collapsedBy = AnnotationUtils.findAnnotation(method, CollapsedBy.class);
+                if (collapsedBy != null) {
+                    collapsedMethods.put(method, new CollapsedMethod(bean, clientInterface, method, collapsedBy));
+                }
+            }
+            if (!collapsedMethods.isEmpty()) {
+                log.info("Enabling request collapsing on Feign client '{}' for {} method(s)",
+                        beanName, collapsedMethods.size());
+                return Proxy.newProxyInstance(clientInterface.getClassLoader(), interfaces,
+                        new CollapsingInvocationHandler(bean, collapsedMethods));
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * Fails the calls still waiting for a batch, so callers do not block on a batch that is never sent.
+     */
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        IllegalStateException shutdown = new IllegalStateException("Feign request collapser is shut down");
+        collapsers.forEach(collapser -> collapser.cancel(shutdown));
+        executor.shutdown();
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static String currentScope(RequestAttributes attributes) {
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            String token = servletAttributes.getRequest().getHeader(AUTHORIZATION_HEADER);
+            return token != null ? token : "";
+        }
+        return "";
+    }
+
+    private record CollapsingInvocationHandler(Object target, Map<Method, CollapsedMethod> collapsedMethods)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            CollapsedMethod collapsed = collapsedMethods.get(method);
+            if (collapsed == null || args == null || args.length != 1 || args[0] == null) {
+                return invokeTarget(target, method, args);
+            }
+            return collapsed.call(args[0]);
+        }
+    }
+
+    /**
+     * Lookup key of a collapsed call. Only scope and id take part in equality; the request
+     * attributes are carried along so the batch call can run in a caller's request context.
+     */
+    private static final class ScopedKey {
+
+        private final String scope;
+        private final Object id;
+        private final RequestAttributes attributes;
+
+        private ScopedKey(String scope, Object id, RequestAttributes attributes) {
+            this.scope = scope;
+            this.id = id;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ScopedKey other)) return false;
+            return scope.equals(other.scope) && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, id);
+        }
+    }
+
+    private final class CollapsedMethod {
+
+        private final Object target;
+        private final Method batchMethod;
+        private final String idProperty;
+        private final boolean setArgument;
+        private final long timeoutMillis;
+        private final RequestCollapser<ScopedKey, Object> collapser;
+
+        private CollapsedMethod(Object target, Class<?> clientInterface, Method method, CollapsedBy collapsedBy) {
+            if (method.getParameterCount() != 1) {
+                throw new IllegalStateException("@CollapsedBy method " + method + " must take exactly one id parameter");
+            }
+            this.target = target;
+            this.batchMethod = findBatchMethod(clientInterface, collapsedBy.batchMethod());
+            this.idProperty = collapsedBy.idProperty();
+            this.setArgument = Set.class.isAssignableFrom(batchMethod.getParameterTypes()[0]);
+            this.timeoutMillis = collapsedBy.timeoutMillis();
+            this.collapser = new RequestCollapser<>(
+                    clientInterface.getSimpleName() + "." + method.getName(),
+                    this::loadBatch,
+                    key -> key.scope,
+                    Duration.ofMillis(collapsedBy.windowMillis()),
+                    collapsedBy.maxBatchSize(),
+                    scheduler,
+                    executor);
+            collapsers.add(collapser);
+        }
+
+        private Object call(Object id) throws Throwable {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            try {
+                return collapser.submit(new ScopedKey(currentScope(attributes), id, attributes))
+                        .get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() != null ? e.getCause() : e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for collapsed call " + batchMethod.getName(), e);
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("Collapsed call " + batchMethod.getName() + " timed out after "
+                        + timeoutMillis + "ms", e);
+            }
+        }
+
+        /**
+         * Loads the keys of one scope, partitioned by the collapser, with one batch call.
+         */
+        private Map<ScopedKey, Object> loadBatch(Set<ScopedKey> scopeKeys) {
+            Map<String, Object> values = invokeBatch(scopeKeys);
+            Map<ScopedKey, Object> results = new HashMap<>();
+            scopeKeys.forEach(key -> results.put(key, values.get(String.valueOf(key.id))));
+            return results;
+        }
+
+        private Map<String, Object> invokeBatch(Set<ScopedKey> scopeKeys) {
+            Collection<Object> ids = setArgument ? new LinkedHashSet<>() : new ArrayList<>();
+            scopeKeys.forEach(key -> ids.add(key.id));
+
+            RequestAttributes attributes = scopeKeys.iterator().next().attributes;
+            if (attributes != null) {
+                RequestContextHolder.setRequestAttributes(attributes);
+            }
+            try {
+                return indexById(invokeTarget(target, batchMethod, new Object[]{ids}));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Batch call " + batchMethod.getName() + " failed", t);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }
+
+        private Map<String, Object> indexById(Object response) {
+            Map<String, Object> values = new HashMap<>();
+            if (response instanceof Map<?, ?> map) {
+                map.forEach((id, value) -> values.put(String.valueOf(id), value));
+            } else if (response instanceof Iterable<?> elements) {
+                for (Object element : elements) {
+                    if (element != null) {
+                        values.put(String.valueOf(readId(element)), element);
+                    }
+                }
+            }
+            return values;
+        }
+
+        private Object readId(Object element) {
+            BeanWrapper beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(element);
+            if (beanWrapper.isReadableProperty(idProperty)) {
+                return beanWrapper.getPropertyValue(idProperty);
+            }
+            return new DirectFieldAccessor(element).getPropertyValue(idProperty);
+        }
+
+        private static Method findBatchMethod(Class<?> clientInterface, String name) {
+            for (Method candidate : clientInterface.getMethods()) {
+                if (candidate.getName().equals(name)
+                        && candidate.getParameterCount() == 1
+                        && Collection.class.isAssignableFrom(candidate.getParameterTypes()[0])
+                        && (Map.class.isAssignableFrom(candidate.getReturnType())
+                        || Iterable.class.isAssignableFrom(candidate.getReturnType()))) {
+                    return candidate;
+                }
+            }
+            throw new IllegalStateException("No batch method '" + name + "(Collection)' returning a Map or Collection found on "
+                    + clientInterface.getName());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.thales.common.feign;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers request collapsing for Feign client methods annotated with {@link CollapsedBy}.
+ */
+@AutoConfiguration
+@ConditionalOnClass(FeignClient.class)
+@ConditionalOnProperty(name = "thales.feign.collapser.enabled", havingValue = "true")
+public class FeignCollapserConfiguration {
+
+    @Bean
+    public static CollapsingFeignClientPostProcessor collapsingFeignClientPostProcessor() {
+        return new CollapsingFeignClientPostProcessor();
+    }
+}
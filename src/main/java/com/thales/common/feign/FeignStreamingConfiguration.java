@@ -0,0 +1,26 @@
+package com.thales.common.feign;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.cloud.openfeign.FeignClientSpecification;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Installs the streaming decoder for all Feign clients when enabled.
+ * <p>
+ * The decoder is registered as a default client configuration rather than in the application context,
+ * so each client's own configuration can still replace it.
+ */
+@AutoConfiguration
+@ConditionalOnClass(FeignClient.class)
+@ConditionalOnProperty(name = "thales.feign.streaming-decoder.enabled", havingValue = "true")
+public class FeignStreamingConfiguration {
+
+    @Bean
+    public FeignClientSpecification streamingDecoderClientSpecification() {
+        return new FeignClientSpecification("default." + FeignStreamingConfiguration.class.getName(),
+                FeignStreamingConfiguration.class.getName(), new Class<?>[]{StreamingDecoderConfiguration.class});
+    }
+}
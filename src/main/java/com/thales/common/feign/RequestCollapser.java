@@ -0,0 +1,153 @@
+package com.thales.common.feign;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Merges concurrent single-key lookups into batch lookups.
+ * Keys submitted within the same window (or until the batch is full) are loaded
+ * with one call of the batch loader and the results are handed back to each caller.
+ * Duplicate keys in a window share the same result.
+ * <p>
+ * Keys can be partitioned, e.g. by caller credentials: the keys of each partition are then loaded by a
+ * separate batch call, and a failing call only fails the lookups of its own partition.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+@Slf4j
+public class RequestCollapser<K, V> {
+
+    private final String name;
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final Function<K, ?> partitionBy;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public RequestCollapser(String name, Function<Set<K>, Map<K, V>> batchLoader, Duration window,
+                            int maxBatchSize, ScheduledExecutorService scheduler, Executor executor) {
+        this(name, batchLoader, key -> name, window, maxBatchSize, scheduler, executor);
+    }
+
+    /**
+     * @param partitionBy the partition of a key; keys of different partitions are never loaded together
+     */
+    public RequestCollapser(String name, Function<Set<K>, Map<K, V>> batchLoader, Function<K, ?> partitionBy,
+                            Duration window, int maxBatchSize, ScheduledExecutorService scheduler, Executor executor) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive for collapser '" + name + "'");
+        }
+        this.name = name;
+        this.batchLoader = batchLoader;
+        this.partitionBy = partitionBy;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * Adds a key to the current batch.
+     *
+     * @param key the key to load
+     * @return a future completed with the value (or null) once the batch has been loaded
+     */
+    public CompletableFuture<V> submit(K key) {
+        Map<K, CompletableFuture<V>> fullBatch = null;
+        CompletableFuture<V> future;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = detach();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return future;
+    }
+
+    /**
+     * Sends the current batch immediately, if any.
+     */
+    public void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            batch = detach();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private Map<K, CompletableFuture<V>> detach() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    /**
+     * Fails the calls waiting for the current batch, e.g. on shutdown. Batches already sent still complete.
+     *
+     * @param cause the exception the waiting calls complete with
+     */
+    public void cancel(Throwable cause) {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            batch = detach();
+        }
+        batch.values().forEach(future -> future.completeExceptionally(cause));
+    }
+
+    /**
+     * Loads each partition of the batch with its own call, the partitions in parallel.
+     */
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        Map<Object, Map<K, CompletableFuture<V>>> partitions = new HashMap<>();
+        batch.forEach((key, future) -> partitions
+                .computeIfAbsent(partitionBy.apply(key), partition -> new LinkedHashMap<>())
+                .put(key, future));
+        for (Map<K, CompletableFuture<V>> partition : partitions.values()) {
+            try {
+                executor.execute(() -> load(partition));
+            } catch (RejectedExecutionException e) {
+                partition.values().forEach(future -> future.completeExceptionally(e));
+            }
+        }
+    }
+
+    private void load(Map<K, CompletableFuture<V>> batch) {
+        log.trace("Collapser '{}' loading batch of {} keys", name, batch.size());
+        try {
+            Map<K, V> results = batchLoader.apply(Collections.unmodifiableSet(batch.keySet()));
+            batch.forEach((key, future) -> future.complete(results != null ? results.get(key) : null));
+        } catch (Throwable t) {
+            batch.values().forEach(future -> future.completeExceptionally(t));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.thales.common.feign;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.SearchStrategy;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.FeignBuilderCustomizer;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Feign client configuration that installs the {@link StreamingJacksonDecoder}.
+ * <p>
+ * Intentionally not annotated with {@code @Configuration} so it is not picked up globally;
+ * reference it from a client with {@code @FeignClient(configuration = StreamingDecoderConfiguration.class)}
+ * or enable it as the default client configuration with {@code thales.feign.streaming-decoder.enabled=true}.
+ * A client declaring its own {@link Decoder} keeps it.
+ */
+public class StreamingDecoderConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(value = Decoder.class, search = SearchStrategy.CURRENT)
+    public Decoder streamingJacksonDecoder(ObjectProvider<ObjectMapper> objectMapper,
+                                           ObjectFactory<HttpMessageConverters> messageConverters,
+                                           ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+        Decoder springDecoder = new OptionalDecoder(
+                new ResponseEntityDecoder(new SpringDecoder(messageConverters, customizers)));
+        return new StreamingJacksonDecoder(objectMapper.getIfAvailable(ObjectMapper::new), springDecoder);
+    }
+
+    /**
+     * Streamed responses outlive the decode call, so Feign must leave closing the body to the decoder.
+     * Only applied when the client's decoder is the streaming one; other decoders do not close the response.
+     */
+    @Bean
+    public FeignBuilderCustomizer streamingDecoderBuilderCustomizer(ObjectProvider<Decoder> decoder) {
+        return builder -> {
+            if (decoder.getIfUnique() instanceof StreamingJacksonDecoder) {
+                builder.doNotCloseAfterDecode();
+            }
+        };
+    }
+}
@@ -0,0 +1,185 @@
+package com.thales.common.feign;
+
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import feign.FeignException;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import org.springframework.http.HttpEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Feign decoder that parses JSON responses directly from the response stream instead of
+ * buffering the whole body first.
+ * <p>
+ * Methods returning {@link Stream} or {@link Iterator} read a JSON array or JSON lines
+ * element by element, so memory per call stays bounded regardless of the response size.
+ * The response is closed when the stream is closed or the iterator is exhausted; a
+ * {@code Stream} should therefore be consumed in a try-with-resources block.
+ * <p>
+ * Other JSON responses are bound in one pass from the stream; everything else
+ * ({@code ResponseEntity}, {@code Optional}, {@code String}, non-JSON content) goes to the delegate.
+ * Parser buffers come from a shared lock-free pool rather than thread-local recyclers, which
+ * do not work for virtual threads.
+ * <p>
+ * The Feign builder must be configured with {@code doNotCloseAfterDecode()}; this decoder
+ * closes every response it does not hand back to the caller.
+ */
+public class StreamingJacksonDecoder implements Decoder {
+
+    private final ObjectMapper objectMapper;
+    private final Decoder delegate;
+
+    public StreamingJacksonDecoder(ObjectMapper objectMapper, Decoder delegate) {
+        this.objectMapper = objectMapper.copy();
+        this.objectMapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedLockFreePool());
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        Class<?> rawType = rawType(type);
+        if (rawType == Stream.class || rawType == Iterator.class) {
+            return decodeElements(response, elementType(type), rawType == Stream.class);
+        }
+        try {
+            if (response.body() == null || !isJson(response) || !isDirectlyBindable(rawType)) {
+                return delegate.decode(response, type);
+            }
+            try (InputStream body = response.body().asInputStream()) {
+                return objectMapper.readerFor(objectMapper.constructType(type)).readValue(body);
+            }
+        } finally {
+            Util.ensureClosed(response.body());
+        }
+    }
+
+    private Object decodeElements(Response response, Type elementType, boolean asStream) throws IOException {
+        if (response.body() == null) {
+            Util.ensureClosed(response);
+            return asStream ? Stream.empty() : Collections.emptyIterator();
+        }
+
+        JavaType javaType = objectMapper.constructType(elementType);
+        ObjectReader reader = objectMapper.readerFor(javaType);
+        ClosingIterator<Object> iterator;
+        try {
+            iterator = new ClosingIterator<>(reader.readValues(response.body().asInputStream()), response);
+        } catch (IOException | RuntimeException e) {
+            Util.ensureClosed(response);
+            throw e;
+        }
+
+        if (!asStream) {
+            return iterator;
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    private static boolean isJson(Response response) {
+        // Feign keeps response headers in a case-insensitive map
+        Collection<String> contentTypes = response.headers().get("Content-Type");
+        return contentTypes != null && contentTypes.stream().anyMatch(value -> value.contains("json"));
+    }
+
+    private static boolean isDirectlyBindable(Class<?> rawType) {
+        return rawType != null
+                && rawType != String.class
+                && rawType != byte[].class
+                && rawType != Optional.class
+                && !HttpEntity.class.isAssignableFrom(rawType);
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterizedType
+                && parameterizedType.getRawType() instanceof Class<?> clazz) {
+            return clazz;
+        }
+        return null;
+    }
+
+    private static Type elementType(Type type) {
+        if (type instanceof ParameterizedType parameterizedType) {
+            return parameterizedType.getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+
+    /**
+     * Iterator over the decoded elements that releases the response once exhausted or closed.
+     */
+    private static final class ClosingIterator<T> implements Iterator<T>, Closeable {
+
+        private final MappingIterator<T> elements;
+        private final Response response;
+        private boolean closed;
+
+        private ClosingIterator(MappingIterator<T> elements, Response response) {
+            this.elements = elements;
+            this.response = response;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            boolean hasNext;
+            try {
+                hasNext = elements.hasNextValue();
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            if (!hasNext) {
+                close();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return elements.nextValue();
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                Util.ensureClosed(elements);
+                Util.ensureClosed(response);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.thales.common.profiling;
+
+import com.thales.common.datasource.DataSourceType;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Counts and elapsed time of the cache operations, database connection acquisitions and queries, and
+ * Feign calls made while serving one request.
+ * <p>
+ * The profile is bound to the request thread by {@link RequestProfilingFilter} and carried to fan-out and
+ * {@code @Async} threads by {@code RequestContextSnapshot}. Instrumented code looks it up with
+ * {@link #current()} and records nothing when it is null, which is always the case when profiling is disabled.
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Timer cache = new Timer();
+    private final Timer feign = new Timer();
+    private final Map<DataSourceType, Timer> connectionAcquires = new EnumMap<>(DataSourceType.class);
+    private final Map<DataSourceType, Timer> queries = new EnumMap<>(DataSourceType.class);
+
+    RequestProfile() {
+        for (DataSourceType type : DataSourceType.values()) {
+            connectionAcquires.put(type, new Timer());
+            queries.put(type, new Timer());
+        }
+    }
+
+    /**
+     * @return the profile of the request served by the current thread, or null if it is not profiled
+     */
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a profile to the current thread.
+     *
+     * @param profile the profile to bind; null unbinds the current one
+     * @return the profile bound before, to be restored afterwards
+     */
+    public static RequestProfile bind(RequestProfile profile) {
+        RequestProfile previous = CURRENT.get();
+        if (profile == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(profile);
+        }
+        return previous;
+    }
+
+    public void recordCacheOperation(long nanos) {
+        cache.record(nanos);
+    }
+
+    public void recordConnectionAcquire(DataSourceType type, long nanos) {
+        connectionAcquires.get(type).record(nanos);
+    }
+
+    public void recordQuery(DataSourceType type, long nanos) {
+        queries.get(type).record(nanos);
+    }
+
+    public void recordFeignCall(long nanos) {
+        feign.record(nanos);
+    }
+
+    /**
+     * @return the nanoseconds elapsed since the profile was created
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * @return the value of a {@code Server-Timing} header, e.g.
+     * {@code cache;dur=1.2;desc="3 ops", db-replica-query;dur=8.4;desc="2 ops", total;dur=15.0}
+     */
+    public String toServerTiming() {
+        StringJoiner header = new StringJoiner(", ");
+        forEachTimer((name, timer) -> header.add(name + ";dur=" + millis(timer.nanos.sum())
+                + ";desc=\"" + timer.count.sum() + " ops\""));
+        header.add("total;dur=" + millis(getElapsedNanos()));
+        return header.toString();
+    }
+
+    /**
+     * @return the recorded counts and times as {@code key=value} pairs, e.g.
+     * {@code cache.count=3 cache.ms=1.2 db.replica.query.count=2 db.replica.query.ms=8.4}
+     */
+    public String toLogFields() {
+        StringJoiner fields = new StringJoiner(" ");
+        forEachTimer((name, timer) -> {
+            String key = name.replace('-', '.');
+            fields.add(key + ".count=" + timer.count.sum());
+            fields.add(key + ".ms=" + millis(timer.nanos.sum()));
+        });
+        return fields.toString();
+    }
+
+    /**
+     * Visits the timers that recorded at least one operation.
+     */
+    private void forEachTimer(BiConsumer<String, Timer> action) {
+        visit("cache", cache, action);
+        for (DataSourceType type : DataSourceType.values()) {
+            String prefix = "db-" + type.name().toLowerCase(Locale.ROOT);
+            visit(prefix + "-acquire", connectionAcquires.get(type), action);
+            visit(prefix + "-query", queries.get(type), action);
+        }
+        visit("feign", feign, action);
+    }
+
+    private static void visit(String name, Timer timer, BiConsumer<String, Timer> action) {
+        if (timer.count.sum() > 0) {
+            action.accept(name, timer);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Count and total time of one kind of operation; recorded from several threads during fan-outs.
+     */
+    private static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void record(long elapsedNanos) {
+            count.increment();
+            nanos.add(elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.thales.common.profiling;
+
+import feign.Capability;
+import feign.Client;
+
+/**
+ * Records the Feign calls made while serving a profiled request.
+ */
+public class RequestProfilingCapability implements Capability {
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            RequestProfile profile = RequestProfile.current();
+            if (profile == null) {
+                return client.execute(request, options);
+            }
+            long start = System.nanoTime();
+            try {
+                return client.execute(request, options);
+            } finally {
+                profile.recordFeignCall(System.nanoTime() - start);
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.thales.common.profiling;
+
+import feign.Capability;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link RequestProfilingFilter} and the Feign {@link RequestProfilingCapability}.
+ * Cache managers decorate their caches when the {@link RequestProfilingProperties} bean is present,
+ * and {@code RoutingDataSource} records connections whenever a request is profiled.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "thales.profiling.enabled", havingValue = "true")
+@EnableConfigurationProperties(RequestProfilingProperties.class)
+public class RequestProfilingConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RequestProfilingFilter requestProfilingFilter(RequestProfilingProperties properties) {
+        return new RequestProfilingFilter(properties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Capability.class)
+    static class FeignProfilingConfiguration {
+
+        /**
+         * Picked up by every Feign client built by Spring Cloud OpenFeign.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public RequestProfilingCapability requestProfilingCapability() {
+            return new RequestProfilingCapability();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.thales.common.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+
+/**
+ * Binds a {@link RequestProfile} to each request, returns it in a {@code Server-Timing} header and logs it
+ * when the request takes at least {@code slow-threshold}.
+ * <p>
+ * The header is added when the response body is started, so it covers the work done by the handler but
+ * not the writing of the body. Asynchronous requests are profiled up to the end of their first dispatch.
+ */
+@Slf4j
+public class RequestProfilingFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final RequestProfilingProperties properties;
+    private final long slowThresholdNanos;
+
+    public RequestProfilingFilter(RequestProfilingProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestProfile profile = new RequestProfile();
+        RequestProfile previous = RequestProfile.bind(profile);
+        ServerTimingResponse profiledResponse = properties.isServerTimingHeader()
+                ? new ServerTimingResponse(response, profile)
+                : null;
+        try {
+            filterChain.doFilter(request, profiledResponse != null ? profiledResponse : response);
+        } finally {
+            RequestProfile.bind(previous);
+            if (profiledResponse != null) {
+                profiledResponse.addServerTiming();
+            }
+            long elapsedNanos = profile.getElapsedNanos();
+            if (elapsedNanos >= slowThresholdNanos) {
+                log.warn("Slow request method={} uri={} status={} total.ms={} {}", request.getMethod(),
+                        request.getRequestURI(), response.getStatus(), Duration.ofNanos(elapsedNanos).toMillis(),
+                        profile.toLogFields());
+            }
+        }
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header just before the response is committed.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestProfile profile;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, RequestProfile profile) {
+            super(response);
+            this.profile = profile;
+        }
+
+        void addServerTiming() {
+            if (!added && !isCommitted()) {
+                added = true;
+                addHeader(SERVER_TIMING_HEADER, profile.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.thales.common.profiling;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Properties class for per-request profiling.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "thales.profiling")
+public class RequestProfilingProperties {
+
+    /**
+     * Whether requests are profiled
+     */
+    private boolean enabled = false;
+
+    /**
+     * Requests taking at least this long are logged with their profile
+     */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    /**
+     * Whether the profile is returned to the client in a Server-Timing response header. It exposes the
+     * datasource topology and downstream call timings, so it is meant for internal clients only.
+     */
+    private boolean serverTimingHeader = false;
+}
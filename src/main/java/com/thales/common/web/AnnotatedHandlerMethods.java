@@ -0,0 +1,149 @@
+package com.thales.common.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.condition.PathPatternsRequestCondition;
+import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Handler methods carrying a given annotation, with per-endpoint settings derived from it.
+ * Used by filters that need to know which handler a request maps to before it is dispatched.
+ * <p>
+ * Only requests whose path matches a pattern of an annotated handler are resolved, and the resolved
+ * handler is kept in a request attribute so that the filters resolve it at most once per request.
+ *
+ * @param <E> per-endpoint settings
+ */
+@Slf4j
+final class AnnotatedHandlerMethods<E> {
+
+    private static final String HANDLER_ATTRIBUTE = AnnotatedHandlerMethods.class.getName() + ".handler";
+    private static final Object NO_HANDLER = new Object();
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private final Map<Method, E> endpoints = new HashMap<>();
+    private final List<PathPattern> pathPatterns = new ArrayList<>();
+    private final List<String> antPatterns = new ArrayList<>();
+    private RequestMappingHandlerMapping handlerMapping;
+
+    /**
+     * Collects the annotated handler methods; async and streaming handlers are skipped
+     * because their response is not complete when the filter chain returns.
+     */
+    <A extends Annotation> void initialize(RequestMappingHandlerMapping mapping, Class<A> annotationType,
+                                           Function<A, E> settings) {
+        if (mapping == null) {
+            return;
+        }
+        this.handlerMapping = mapping;
+        mapping.getHandlerMethods().forEach((info, handlerMethod) -> {
+            A annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), annotationType);
+            if (annotation == null) {
+                return;
+            }
+            if (isAsync(handlerMethod.getMethod().getReturnType())) {
+                log.warn("@{} is not supported on async handler {}, ignoring", annotationType.getSimpleName(), handlerMethod);
+                return;
+            }
+            endpoints.put(handlerMethod.getMethod(), settings.apply(annotation));
+            addPatterns(info);
+        });
+    }
+
+    boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    int size() {
+        return endpoints.size();
+    }
+
+    /**
+     * @return the settings of the handler the request maps to, or null if it is not annotated
+     */
+    E resolve(HttpServletRequest request) {
+        Object handler = request.getAttribute(HANDLER_ATTRIBUTE);
+        if (handler == null) {
+            if (!matchesPattern(request)) {
+                return null;
+            }
+            handler = lookupHandler(request);
+            request.setAttribute(HANDLER_ATTRIBUTE, handler);
+        }
+        return handler instanceof HandlerMethod handlerMethod ? endpoints.get(handlerMethod.getMethod()) : null;
+    }
+
+    private Object lookupHandler(HttpServletRequest request) {
+        try {
+            HandlerExecutionChain chain = handlerMapping.getHandler(request);
+            if (chain != null && chain.getHandler() instanceof HandlerMethod handlerMethod) {
+                return handlerMethod;
+            }
+        } catch (Exception e) {
+            log.debug("Could not resolve handler for {}: {}", request.getRequestURI(), e.getMessage());
+        }
+        return NO_HANDLER;
+    }
+
+    /**
+     * Cheap pre-check against the patterns of the annotated handlers only, so that requests to other
+     * handlers are not resolved before the DispatcherServlet does it.
+     */
+    private boolean matchesPattern(HttpServletRequest request) {
+        String lookupPath = UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+        if (!pathPatterns.isEmpty()) {
+            PathContainer path = PathContainer.parsePath(lookupPath);
+            for (PathPattern pattern : pathPatterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+        }
+        for (String pattern : antPatterns) {
+            if (ANT_PATH_MATCHER.match(pattern, lookupPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addPatterns(RequestMappingInfo info) {
+        PathPatternsRequestCondition pathPatternsCondition = info.getPathPatternsCondition();
+        if (pathPatternsCondition != null) {
+            pathPatterns.addAll(pathPatternsCondition.getPatterns());
+        }
+        PatternsRequestCondition patternsCondition = info.getPatternsCondition();
+        if (patternsCondition != null) {
+            antPatterns.addAll(patternsCondition.getPatterns());
+        }
+    }
+
+    private static boolean isAsync(Class<?> returnType) {
+        return Callable.class.isAssignableFrom(returnType)
+                || Future.class.isAssignableFrom(returnType)
+                || CompletionStage.class.isAssignableFrom(returnType)
+                || returnType.getName().startsWith("org.springframework.web.context.request.async.")
+                || returnType.getName().startsWith("org.springframework.web.servlet.mvc.method.annotation.")
+                || returnType.getName().startsWith("reactor.core.publisher.");
+    }
+}
@@ -0,0 +1,85 @@
+package com.thales.common.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Serialized HTTP response stored by {@link ResponseCacheFilter} or shared by {@link RequestCoalescingFilter}.
+ *
+ * @param contentType response content type
+ * @param body response body bytes
+ * @param etag strong entity tag of the body
+ * @param expiresAt expiry time in epoch milliseconds, or 0 to rely on the cache TTL only
+ * @param headers the response headers except the {@link #UNREPLAYED_HEADERS}, multiple values joined with ", "
+ */
+public record CachedHttpResponse(String contentType, byte[] body, String etag, long expiresAt,
+                                 Map<String, String> headers) implements Serializable {
+
+    /**
+     * Response headers not stored with the body: hop-by-hop headers, per-response headers, and the
+     * headers written from the record's own fields.
+     */
+    static final Set<String> UNREPLAYED_HEADERS = caseInsensitive(
+            HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION,
+            HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.UPGRADE,
+            HttpHeaders.SET_COOKIE, HttpHeaders.DATE,
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.ETAG);
+
+    /**
+     * Captures the content type and all replayable headers of a buffered response.
+     */
+    static CachedHttpResponse of(HttpServletResponse response, byte[] body, String etag, long expiresAt) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : new LinkedHashSet<>(response.getHeaderNames())) {
+            Collection<String> values = response.getHeaders(name);
+            if (!UNREPLAYED_HEADERS.contains(name) && !values.isEmpty()) {
+                headers.put(name, String.join(", ", values));
+            }
+        }
+        return new CachedHttpResponse(response.getContentType(), body, etag, expiresAt, headers);
+    }
+
+    private static Set<String> caseInsensitive(String... names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(List.of(names));
+        return Collections.unmodifiableSet(set);
+    }
+
+    public boolean isExpired(long now) {
+        return expiresAt > 0 && now >= expiresAt;
+    }
+
+    /**
+     * Writes the replayed headers and ETag, e.g. for a 304 answer.
+     */
+    void writeHeadersTo(HttpServletResponse response) {
+        if (headers != null) {
+            headers.forEach(response::setHeader);
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+    }
+
+    /**
+     * Writes this response as a 200 with its content type, headers, ETag and body.
+     */
+    void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        writeHeadersTo(response);
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
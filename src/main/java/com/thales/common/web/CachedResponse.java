@@ -0,0 +1,41 @@
+package com.thales.common.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the serialized response of a GET handler method in the library's {@code CacheManager}.
+ * Cache hits are written directly by {@link ResponseCacheFilter} without invoking the controller.
+ * <p>
+ * Entries are keyed by request URI, query string and a digest of the {@link #varyBy()} headers, which
+ * include {@code Authorization} by default so responses are never served across users. Invalidate them with
+ * {@code cacheUtil.clear(cacheName)}; for public responses declared with {@code varyBy = {}}, the key is the
+ * URI and query string alone (e.g. {@code /api/items/42?lang=en}) and can be evicted individually.
+ * Only 200 responses without {@code Set-Cookie} are cached; async and streaming handlers are not supported.
+ * The default key does not separate session-cookie users, so requests carrying a session cookie bypass the cache
+ * unless {@link #varyBy()} is empty or includes {@code Cookie}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponse {
+
+    /**
+     * Name of the cache holding the responses (its TTL can be set with {@code thales.cache.ttl}).
+     */
+    String cacheName() default "httpResponses";
+
+    /**
+     * Maximum age of a cached response (e.g. "30s", "5m"). Empty means the cache's own TTL applies.
+     */
+    String ttl() default "";
+
+    /**
+     * Request headers whose values are part of the cache key (e.g. "Authorization", "Accept-Language").
+     * Defaults to the Authorization header so a response built for one user is never served to another.
+     */
+    String[] varyBy() default {"Authorization"};
+}
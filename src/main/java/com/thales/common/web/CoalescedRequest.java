@@ -0,0 +1,32 @@
+package com.thales.common.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets identical concurrent GET requests to a handler method share one execution.
+ * While a request is in flight, {@link RequestCoalescingFilter} makes identical requests
+ * (same path, query and {@link #varyBy()} headers) wait for its response bytes instead of
+ * running the handler again. Followers that wait longer than {@link #maxWait()}, or whose
+ * leader does not produce a cacheable 200 response, execute the handler themselves.
+ * Requests carrying a session cookie are not coalesced unless {@link #varyBy()} is empty or includes {@code Cookie}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CoalescedRequest {
+
+    /**
+     * Maximum time a follower waits for the in-flight response (e.g. "500ms", "2s").
+     */
+    String maxWait() default "2s";
+
+    /**
+     * Request headers that must match for requests to be considered identical.
+     * Defaults to the Authorization header so responses are never shared across auth scopes.
+     */
+    String[] varyBy() default {"Authorization"};
+}
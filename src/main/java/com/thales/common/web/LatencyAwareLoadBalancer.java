@@ -0,0 +1,128 @@
+package com.thales.common.web;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load balancer that picks instances by power of two choices over latency EWMA and outstanding requests,
+ * and records the outcome of each load-balanced call (e.g. from Feign) through its lifecycle callbacks.
+ * <p>
+ * Calls are tracked until their completion callback; at most {@value #MAX_TRACKED_CALLS} are tracked at once,
+ * and calls whose completion was never reported are dropped after {@value #STALE_CALL_MINUTES} minutes.
+ * When the instance list of a service changes, the statistics of instances that left it are discarded.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    static final int MAX_TRACKED_CALLS = 10_000;
+    static final long STALE_CALL_MINUTES = 10;
+
+    private final ServiceEndpointRegistry registry;
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    /**
+     * Keyed by identity: responses for the same instance are equal, but each call gets its own response.
+     */
+    private final Map<Response<ServiceInstance>, Long> startTimes = new IdentityHashMap<>();
+    private volatile List<ServiceInstance> lastInstances = List.of();
+
+    public LatencyAwareLoadBalancer(ServiceEndpointRegistry registry,
+                                    ObjectProvider<ServiceInstanceListSupplier> supplierProvider) {
+        this.registry = registry;
+        this.supplierProvider = supplierProvider;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // declared with a raw Request by ReactiveLoadBalancer
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        // Registry endpoints are pruned by the registry itself; discovery suppliers reuse the list until a refresh
+        if (instances != lastInstances && !(instances.get(0) instanceof ServiceEndpoint)) {
+            registry.retainEndpoints(instances.get(0).getServiceId(), instances);
+        }
+        lastInstances = instances;
+        List<ServiceEndpoint> endpoints = new ArrayList<>(instances.size());
+        instances.forEach(instance -> endpoints.add(registry.endpointFor(instance)));
+        ServiceEndpoint chosen = ServiceEndpointRegistry.choose(endpoints);
+        return new DefaultResponse(instances.get(endpoints.indexOf(chosen)));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // declared with raw classes by LoadBalancerLifecycle
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+        // Nothing to record before an instance is chosen
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (startTimes) {
+            if (startTimes.size() >= MAX_TRACKED_CALLS) {
+                dropStaleCalls(now);
+                if (startTimes.size() >= MAX_TRACKED_CALLS) {
+                    return;
+                }
+            }
+            startTimes.put(lbResponse, now);
+        }
+        registry.endpointFor(lbResponse.getServer()).start();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        Long start;
+        synchronized (startTimes) {
+            start = lbResponse != null ? startTimes.remove(lbResponse) : null;
+        }
+        if (start != null) {
+            boolean success = completionContext.status() == CompletionContext.Status.SUCCESS;
+            registry.endpointFor(lbResponse.getServer()).complete(System.nanoTime() - start, success);
+        }
+    }
+
+    /**
+     * Drops the calls whose completion was never reported, releasing their outstanding count.
+     */
+    private void dropStaleCalls(long now) {
+        long staleNanos = TimeUnit.MINUTES.toNanos(STALE_CALL_MINUTES);
+        startTimes.entrySet().removeIf(entry -> {
+            long elapsed = now - entry.getValue();
+            if (elapsed < staleNanos) {
+                return false;
+            }
+            registry.endpointFor(entry.getKey().getServer()).complete(elapsed, false);
+            return true;
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.thales.common.web;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer client configuration using the {@link ServiceEndpointRegistry}.
+ * <p>
+ * Services configured in the registry get their instances from it; other services keep the
+ * discovery-backed instance list, and are balanced by the same latency-aware strategy.
+ * <p>
+ * Intentionally not annotated with {@code @Configuration}: it is applied per service client
+ * through {@code @LoadBalancerClients(defaultConfiguration = ...)}.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context,
+                                                                   Environment environment,
+                                                                   ServiceEndpointRegistry registry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        if (registry.isConfigured(serviceId)) {
+            return new RegistryServiceInstanceListSupplier(serviceId, registry);
+        }
+        // Same discovery client choice as Spring Cloud's default configuration
+        if (context.getBeanProvider(ReactiveDiscoveryClient.class).getIfAvailable() != null) {
+            return ServiceInstanceListSupplier.builder().withDiscoveryClient().withCaching().build(context);
+        }
+        if (context.getBeanProvider(DiscoveryClient.class).getIfAvailable() != null) {
+            return ServiceInstanceListSupplier.builder().withBlockingDiscoveryClient().withCaching().build(context);
+        }
+        return new RegistryServiceInstanceListSupplier(serviceId, registry);
+    }
+
+    @Bean
+    public LatencyAwareLoadBalancer latencyAwareLoadBalancer(ServiceEndpointRegistry registry,
+                                                             ObjectProvider<ServiceInstanceListSupplier> suppliers) {
+        return new LatencyAwareLoadBalancer(registry, suppliers);
+    }
+}
@@ -0,0 +1,31 @@
+package com.thales.common.web;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Supplies the instances configured in the {@link ServiceEndpointRegistry} to Spring Cloud LoadBalancer.
+ */
+public class RegistryServiceInstanceListSupplier implements ServiceInstanceListSupplier {
+
+    private final String serviceId;
+    private final ServiceEndpointRegistry registry;
+
+    public RegistryServiceInstanceListSupplier(String serviceId, ServiceEndpointRegistry registry) {
+        this.serviceId = serviceId;
+        this.registry = registry;
+    }
+
+    @Override
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return Flux.defer(() -> Flux.just(List.copyOf(registry.getEndpoints(serviceId))));
+    }
+}
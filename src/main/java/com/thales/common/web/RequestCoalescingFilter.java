@@ -0,0 +1,124 @@
+package com.thales.common.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coalesces identical concurrent GET requests to {@link CoalescedRequest} handler methods.
+ * <p>
+ * The first request for a key becomes the leader and runs normally with its response buffered.
+ * Identical requests arriving while it runs wait (bounded) for the leader's response bytes and
+ * write them out, with the leader's headers and ETag, without invoking the handler.
+ */
+@Slf4j
+public class RequestCoalescingFilter extends OncePerRequestFilter implements SmartInitializingSingleton, Ordered {
+
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+    private static final String COALESCED_HEADER = "X-Coalesced";
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappingProvider;
+    private final AnnotatedHandlerMethods<Endpoint> endpoints = new AnnotatedHandlerMethods<>();
+    private final ConcurrentHashMap<String, CompletableFuture<CachedHttpResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(ObjectProvider<RequestMappingHandlerMapping> handlerMappingProvider) {
+        this.handlerMappingProvider = handlerMappingProvider;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        endpoints.initialize(handlerMappingProvider.getIfAvailable(), CoalescedRequest.class, annotation -> new Endpoint(
+                DurationStyle.detectAndParse(annotation.maxWait()), annotation.varyBy()));
+        log.info("Request coalescing enabled for {} handler method(s)", endpoints.size());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return endpoints.isEmpty() || !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Endpoint endpoint = endpoints.resolve(request);
+        if (endpoint == null || RequestKeys.isSessionScoped(request, endpoint.varyBy())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = RequestKeys.of(request, endpoint.varyBy());
+        CompletableFuture<CachedHttpResponse> leader = new CompletableFuture<>();
+        CompletableFuture<CachedHttpResponse> existing = inFlight.putIfAbsent(key, leader);
+        if (existing == null) {
+            lead(request, response, filterChain, key, leader);
+            return;
+        }
+
+        CachedHttpResponse shared = await(existing, endpoint.maxWait());
+        if (shared != null) {
+            response.setHeader(COALESCED_HEADER, "true");
+            shared.writeTo(response);
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private void lead(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                      String key, CompletableFuture<CachedHttpResponse> leader) throws ServletException, IOException {
+        CachedHttpResponse result = null;
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (ResponseCacheFilter.isCacheable(request, wrapper)) {
+                byte[] body = wrapper.getContentAsByteArray();
+                result = CachedHttpResponse.of(wrapper, body, RequestKeys.etag(body), 0);
+                // Followers replay the ETag, so the leader sends the same one
+                wrapper.setHeader(HttpHeaders.ETAG, result.etag());
+            }
+        } finally {
+            // Unregister before completing so late arrivals start a new execution instead of reading a stale result
+            inFlight.remove(key, leader);
+            leader.complete(result);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static CachedHttpResponse await(CompletableFuture<CachedHttpResponse> leader, Duration maxWait) {
+        try {
+            return leader.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private record Endpoint(Duration maxWait, String[] varyBy) {
+    }
+}
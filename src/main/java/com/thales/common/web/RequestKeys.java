@@ -0,0 +1,71 @@
+package com.thales.common.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Key and entity tag helpers shared by the response caching and coalescing filters.
+ */
+final class RequestKeys {
+
+    private RequestKeys() {
+        // Utility class, should not be instantiated
+    }
+
+    /**
+     * Builds a key from the request URI, query string and the given request headers,
+     * e.g. {@code /api/items/42?lang=en}. Header values may contain credentials, so only
+     * a digest of them becomes part of the key.
+     */
+    static String of(HttpServletRequest request, String[] varyBy) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            key.append('?').append(request.getQueryString());
+        }
+        if (varyBy.length > 0) {
+            StringBuilder vary = new StringBuilder();
+            for (String header : varyBy) {
+                vary.append(header).append('=').append(request.getHeader(header)).append('\n');
+            }
+            key.append('#').append(sha256(vary.toString().getBytes(StandardCharsets.UTF_8)), 0, 32);
+        }
+        return key.toString();
+    }
+
+    /**
+     * A request carrying a session cookie may get a response built from its session, which the key does not
+     * separate. Such requests are neither answered from nor shared with other requests, unless the endpoint is
+     * public ({@code varyBy = {}}) or varies by the {@code Cookie} header.
+     */
+    static boolean isSessionScoped(HttpServletRequest request, String[] varyBy) {
+        if (varyBy.length == 0 || request.getRequestedSessionId() == null) {
+            return false;
+        }
+        for (String header : varyBy) {
+            if (HttpHeaders.COOKIE.equalsIgnoreCase(header)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a strong entity tag for the given body
+     */
+    static String etag(byte[] body) {
+        return "\"" + sha256(body) + "\"";
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.thales.common.web;
+
+import com.thales.common.cache.CacheUtil;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Registers the {@link ResponseCacheFilter} for {@link CachedResponse} handler methods
+ * and the {@link RequestCoalescingFilter} for {@link CoalescedRequest} handler methods.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ResponseCacheConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "thales.cache.http.enabled", havingValue = "true", matchIfMissing = true)
+    public ResponseCacheFilter responseCacheFilter(
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping,
+            ObjectProvider<CacheUtil> cacheUtil) {
+        return new ResponseCacheFilter(handlerMapping, cacheUtil);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "thales.web.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+    public RequestCoalescingFilter requestCoalescingFilter(
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        return new RequestCoalescingFilter(handlerMapping);
+    }
+}
@@ -0,0 +1,141 @@
+package com.thales.common.web;
+
+import com.thales.common.cache.CacheUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Serves GET responses of {@link CachedResponse} handler methods from the cache.
+ * <p>
+ * On a hit the stored bytes are written without invoking the controller or the message converters,
+ * and {@code If-None-Match} requests matching the stored strong ETag are answered with 304.
+ * On a miss the response is buffered, stored with its ETag and its headers (except hop-by-hop headers,
+ * {@code Set-Cookie} and {@code Date}), and written to the client. Requests carrying a session cookie
+ * bypass the cache unless the endpoint is public or varies by {@code Cookie}.
+ */
+@Slf4j
+public class ResponseCacheFilter extends OncePerRequestFilter implements SmartInitializingSingleton, Ordered {
+
+    /**
+     * Runs before {@link RequestCoalescingFilter} so cache hits never wait on in-flight requests.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 20;
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappingProvider;
+    private final ObjectProvider<CacheUtil> cacheUtilProvider;
+    private final AnnotatedHandlerMethods<Endpoint> endpoints = new AnnotatedHandlerMethods<>();
+
+    /**
+     * Collaborators are resolved lazily: filters are created before the MVC infrastructure.
+     */
+    public ResponseCacheFilter(ObjectProvider<RequestMappingHandlerMapping> handlerMappingProvider,
+                               ObjectProvider<CacheUtil> cacheUtilProvider) {
+        this.handlerMappingProvider = handlerMappingProvider;
+        this.cacheUtilProvider = cacheUtilProvider;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        endpoints.initialize(handlerMappingProvider.getIfAvailable(), CachedResponse.class, annotation -> new Endpoint(
+                annotation.cacheName(),
+                annotation.ttl().isEmpty() ? null : DurationStyle.detectAndParse(annotation.ttl()),
+                annotation.varyBy()));
+        log.info("Response caching enabled for {} handler method(s)", endpoints.size());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return endpoints.isEmpty() || !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CacheUtil cacheUtil = cacheUtilProvider.getIfAvailable();
+        Endpoint endpoint = cacheUtil != null ? endpoints.resolve(request) : null;
+        if (endpoint == null || RequestKeys.isSessionScoped(request, endpoint.varyBy())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = RequestKeys.of(request, endpoint.varyBy());
+        CachedHttpResponse cached = cacheUtil.get(endpoint.cacheName(), key, CachedHttpResponse.class);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            writeCached(request, response, cached);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (isCacheable(request, wrapper)) {
+                byte[] body = wrapper.getContentAsByteArray();
+                String etag = RequestKeys.etag(body);
+                long expiresAt = endpoint.ttl() != null ? System.currentTimeMillis() + endpoint.ttl().toMillis() : 0;
+                cacheUtil.put(endpoint.cacheName(), key, CachedHttpResponse.of(wrapper, body, etag, expiresAt));
+                wrapper.setHeader(HttpHeaders.ETAG, etag);
+                wrapper.setHeader(CACHE_STATUS_HEADER, "MISS");
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response, CachedHttpResponse cached)
+            throws IOException {
+        response.setHeader(CACHE_STATUS_HEADER, "HIT");
+        if (matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            cached.writeHeadersTo(response);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        cached.writeTo(response);
+    }
+
+    static boolean isCacheable(HttpServletRequest request, HttpServletResponse response) {
+        return !request.isAsyncStarted()
+                && response.getStatus() == HttpServletResponse.SC_OK
+                && !response.containsHeader(HttpHeaders.SET_COOKIE);
+    }
+
+    private static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Endpoint(String cacheName, Duration ttl, String[] varyBy) {
+    }
+}
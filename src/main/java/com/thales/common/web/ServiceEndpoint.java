@@ -0,0 +1,134 @@
+package com.thales.common.web;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One instance of a logical service, with the load statistics used to pick between instances:
+ * an exponentially weighted moving average (EWMA) of the latency and the number of outstanding requests.
+ */
+public final class ServiceEndpoint implements ServiceInstance {
+
+    /**
+     * Time constant of the latency EWMA: samples older than this weigh in with less than 1/e.
+     */
+    private static final double DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Failed calls count as this many times the observed latency, steering traffic away from failing instances.
+     */
+    private static final int FAILURE_PENALTY = 5;
+
+    private final String serviceId;
+    private final URI uri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private double ewmaNanos;
+    private long lastUpdateNanos;
+
+    public ServiceEndpoint(String serviceId, URI uri) {
+        this.serviceId = serviceId;
+        this.uri = uri;
+    }
+
+    /**
+     * Records the start of a request to this instance.
+     */
+    public void start() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * Records the end of a request started with {@link #start()}.
+     *
+     * @param latencyNanos elapsed time of the request
+     * @param success whether the request succeeded
+     */
+    public void complete(long latencyNanos, boolean success) {
+        outstanding.decrementAndGet();
+        double sample = success ? latencyNanos : (double) latencyNanos * FAILURE_PENALTY;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (lastUpdateNanos == 0) {
+                ewmaNanos = sample;
+            } else {
+                double weight = Math.exp(-(now - lastUpdateNanos) / DECAY_NANOS);
+                ewmaNanos = ewmaNanos * weight + sample * (1 - weight);
+            }
+            lastUpdateNanos = now;
+        }
+    }
+
+    /**
+     * Expected cost of sending one more request here: latency EWMA scaled by the queue it would join.
+     * Instances without samples yet cost almost nothing, so they are probed first.
+     */
+    public double cost() {
+        double latency;
+        synchronized (this) {
+            latency = ewmaNanos;
+        }
+        return Math.max(latency, 1) * (outstanding.get() + 1);
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public synchronized double getLatencyEwmaMillis() {
+        return ewmaNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the base URL of this instance
+     */
+    public String getUrl() {
+        return uri.toString();
+    }
+
+    @Override
+    public String getInstanceId() {
+        return serviceId + "@" + uri.getHost() + ":" + getPort();
+    }
+
+    @Override
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public String getHost() {
+        return uri.getHost();
+    }
+
+    @Override
+    public int getPort() {
+        if (uri.getPort() >= 0) {
+            return uri.getPort();
+        }
+        return isSecure() ? 443 : 80;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return "https".equalsIgnoreCase(uri.getScheme());
+    }
+
+    @Override
+    public URI getUri() {
+        return uri;
+    }
+
+    @Override
+    public Map<String, String> getMetadata() {
+        return Map.of();
+    }
+
+    @Override
+    public String toString() {
+        return getInstanceId();
+    }
+}
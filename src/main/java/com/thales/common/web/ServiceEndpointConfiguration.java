@@ -0,0 +1,41 @@
+package com.thales.common.web;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers the {@link ServiceEndpointRegistry} and, when enabled, makes it the instance source and
+ * balancing strategy of Spring Cloud LoadBalancer (and therefore of Feign clients).
+ * Also registers {@link URLUtil}, which resolves service URLs through the registry.
+ */
+@AutoConfiguration
+public class ServiceEndpointConfiguration {
+
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean
+    public ServiceEndpointRegistry serviceEndpointRegistry(Environment environment) {
+        return new ServiceEndpointRegistry(environment);
+    }
+
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean
+    public URLUtil urlUtil(Environment environment, ServiceEndpointRegistry serviceEndpointRegistry) {
+        URLUtil urlUtil = new URLUtil(environment);
+        urlUtil.setServiceEndpointRegistry(serviceEndpointRegistry);
+        return urlUtil;
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "thales.service-registry.load-balancer.enabled", havingValue = "true")
+    @LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+    static class LoadBalancerIntegration {
+    }
+}
@@ -0,0 +1,168 @@
+package com.thales.common.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Resolves logical service names to instances and picks the least loaded one.
+ * <p>
+ * Instances are read from {@code thales.services.<name>.instances}, cached, and re-read when the
+ * environment changes. Each instance tracks a latency EWMA and its outstanding requests; an instance
+ * is chosen with the power of two choices: two random instances are compared and the cheaper one wins.
+ * Statistics of instances that leave the instance list of their service are discarded.
+ */
+@Slf4j
+public class ServiceEndpointRegistry implements ApplicationListener<EnvironmentChangeEvent> {
+
+    static final String PREFIX = "thales.services";
+
+    private final Environment environment;
+    private final Map<String, List<ServiceEndpoint>> resolved = new ConcurrentHashMap<>();
+    private final Map<String, ServiceEndpoint> endpointsByKey = new ConcurrentHashMap<>();
+
+    public ServiceEndpointRegistry(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * @return the configured instances of the service, or an empty list if none are configured
+     */
+    public List<ServiceEndpoint> getEndpoints(String serviceName) {
+        return resolved.computeIfAbsent(serviceName, this::resolve);
+    }
+
+    /**
+     * @return whether instances of the service are configured under {@code thales.services.<name>.instances}
+     */
+    public boolean isConfigured(String serviceName) {
+        return Binder.get(environment)
+                .bind(PREFIX + "." + serviceName + ".instances", Bindable.listOf(String.class))
+                .map(urls -> !urls.isEmpty())
+                .orElse(false);
+    }
+
+    /**
+     * Picks an instance of the service.
+     *
+     * @return the chosen instance, or null if none are configured
+     */
+    public ServiceEndpoint choose(String serviceName) {
+        return choose(getEndpoints(serviceName));
+    }
+
+    /**
+     * Picks the cheaper of two random endpoints from the list.
+     *
+     * @return the chosen endpoint, or null if the list is empty
+     */
+    public static ServiceEndpoint choose(List<ServiceEndpoint> endpoints) {
+        int size = endpoints.size();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceEndpoint a = endpoints.get(first);
+        ServiceEndpoint b = endpoints.get(second);
+        return a.cost() <= b.cost() ? a : b;
+    }
+
+    /**
+     * Returns the endpoint tracking the statistics of an instance, e.g. one supplied by service discovery.
+     */
+    public ServiceEndpoint endpointFor(ServiceInstance instance) {
+        if (instance instanceof ServiceEndpoint endpoint) {
+            return endpoint;
+        }
+        return endpointFor(instance.getServiceId(), instance.getUri());
+    }
+
+    /**
+     * Discards the statistics of the instances of a service that are not in its current instance list,
+     * e.g. after service discovery refreshed it.
+     */
+    public void retainEndpoints(String serviceName, Collection<? extends ServiceInstance> instances) {
+        Set<String> keys = new HashSet<>();
+        instances.forEach(instance -> keys.add(key(serviceName, instance.getUri())));
+        String prefix = serviceName + "|";
+        endpointsByKey.keySet().removeIf(key -> key.startsWith(prefix) && !keys.contains(key));
+    }
+
+    /**
+     * Calls an instance of the service and records the latency of the call.
+     *
+     * @param serviceName logical service name
+     * @param call the call, given the base URL of the chosen instance
+     * @return the result of the call
+     * @throws IllegalStateException if no instances are configured for the service
+     */
+    public <T> T execute(String serviceName, Function<String, T> call) {
+        ServiceEndpoint endpoint = choose(serviceName);
+        if (endpoint == null) {
+            throw new IllegalStateException("No instances configured for service '" + serviceName + "'");
+        }
+        endpoint.start();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = call.apply(endpoint.getUrl());
+            success = true;
+            return result;
+        } finally {
+            endpoint.complete(System.nanoTime() - start, success);
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith(PREFIX + "."))) {
+            log.info("Service endpoint configuration changed, re-resolving instances");
+            resolved.clear();
+        }
+    }
+
+    private List<ServiceEndpoint> resolve(String serviceName) {
+        List<String> urls = Binder.get(environment)
+                .bind(PREFIX + "." + serviceName + ".instances", Bindable.listOf(String.class))
+                .orElse(List.of());
+        if (urls.isEmpty()) {
+            log.warn("No instances defined for service '{}' ({}.{}.instances)", serviceName, PREFIX, serviceName);
+        }
+        List<ServiceEndpoint> endpoints = new ArrayList<>(urls.size());
+        // Endpoints are reused across refreshes so instances keep their statistics
+        urls.forEach(url -> endpoints.add(endpointFor(serviceName, URI.create(url.trim()))));
+        retainEndpoints(serviceName, endpoints);
+        return List.copyOf(endpoints);
+    }
+
+    private ServiceEndpoint endpointFor(String serviceName, URI uri) {
+        return endpointsByKey.computeIfAbsent(key(serviceName, uri), key -> new ServiceEndpoint(serviceName, uri));
+    }
+
+    private static String key(String serviceName, URI uri) {
+        return serviceName + "|" + uri;
+    }
+}
@@ -2,10 +2,10 @@ package com.thales.common.web;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
-import org.springframework.stereotype.Component;
 
 /**
  * Utility class for URL operations.
@@ -13,12 +13,19 @@ import org.springframework.stereotype.Component;
  * (application.yml or application.properties).
  */
 @Slf4j
-@Component
 @RequiredArgsConstructor
 public class URLUtil {
 
     private final Environment environment;
 
+    /**
+     * -- SETTER --
+     *  Sets the registry used to resolve service URLs. When not set, a registry reading the
+     *  same environment is created on first use.
+     */
+    @Setter
+    private volatile ServiceEndpointRegistry serviceEndpointRegistry;
+
     /**
      * -- GETTER --
      *  Returns the base URL defined in application settings.
@@ -61,6 +68,40 @@ public class URLUtil {
         return url;
     }
 
+    /**
+     * Returns the base URL of an instance of a logical service defined under
+     * {@code thales.services.<serviceName>.instances}. When several instances are defined,
+     * the least loaded one is picked (see {@link ServiceEndpointRegistry}).
+     *
+     * @param serviceName Logical service name
+     * @return Base URL of the chosen instance or null if no instances are defined
+     */
+    public String getServiceUrl(String serviceName) {
+        ServiceEndpoint endpoint = serviceEndpointRegistry().choose(serviceName);
+        return endpoint != null ? endpoint.getUrl() : null;
+    }
+
+    private ServiceEndpointRegistry serviceEndpointRegistry() {
+        ServiceEndpointRegistry registry = serviceEndpointRegistry;
+        if (registry == null) {
+            registry = new ServiceEndpointRegistry(environment);
+            serviceEndpointRegistry = registry;
+        }
+        return registry;
+    }
+
+    /**
+     * Creates a full URL by adding path to the base URL of an instance of a logical service.
+     *
+     * @param serviceName Logical service name
+     * @param path Path to add
+     * @return Full URL or null if no instances are defined
+     */
+    public String buildServiceUrl(String serviceName, String path) {
+        String serviceUrl = getServiceUrl(serviceName);
+        return serviceUrl != null ? buildUrl(serviceUrl, path) : null;
+    }
+
     /**
      * Creates a full URL by adding path to the base URL.
      *
@@ -0,0 +1,87 @@
+package com.thales.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the startup of a minimal application using the library.
+ * <p>
+ * It measures the time until {@link SpringApplication#run} returns, i.e. until the application is ready, and the
+ * bytes allocated by the main thread meanwhile, and logs the medians after warm-up runs. The application only
+ * enables Spring Boot's auto-configuration, so it starts the library the way the library on the classpath
+ * registers itself. To compare with an earlier version, copy this class into a checkout of that version
+ * (e.g. with {@code git worktree add}) and run it there too. Run with:
+ * <pre>
+ * mvn test -Dtest=AutoConfigurationStartupBenchmark -Dthales.benchmark=true [-Dthales.benchmark.iterations=10]
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "thales.benchmark", matches = "true")
+class AutoConfigurationStartupBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+
+    @Test
+    void measureStartup() {
+        int iterations = Integer.getInteger("thales.benchmark.iterations", 10);
+        List<Sample> samples = new ArrayList<>();
+        for (int i = 0; i < WARMUP_ITERATIONS + iterations; i++) {
+            Sample sample = start();
+            if (i >= WARMUP_ITERATIONS) {
+                samples.add(sample);
+            }
+        }
+        // The started applications leave the root log level at WARN
+        log.warn("Ready in {} ms, main thread allocated {} MB, {} beans (median of {} runs)",
+                median(samples.stream().mapToLong(Sample::elapsedNanos).toArray()) / 1_000_000,
+                median(samples.stream().mapToLong(Sample::allocatedBytes).toArray()) / (1024 * 1024),
+                samples.get(0).beanCount(),
+                samples.size());
+    }
+
+    private static Sample start() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        SpringApplication application = new SpringApplication(BenchmarkApplication.class);
+        application.setDefaultProperties(Map.of(
+                "server.port", "0",
+                "spring.main.banner-mode", "off",
+                "spring.jmx.enabled", "false",
+                "logging.level.root", "warn",
+                "spring.autoconfigure.exclude", String.join(",",
+                        "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+                        "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+                        "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration")));
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long startNanos = System.nanoTime();
+        try (ConfigurableApplicationContext context = application.run()) {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            return new Sample(elapsedNanos, allocated, context.getBeanDefinitionCount());
+        }
+    }
+
+    private static long median(long[] values) {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private record Sample(long elapsedNanos, long allocatedBytes, int beanCount) {
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class BenchmarkApplication {
+    }
+}
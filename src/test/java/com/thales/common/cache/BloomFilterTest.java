@@ -0,0 +1,100 @@
+package com.thales.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void sizesForExpectedInsertionsAndFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+
+        // m = -n ln(p) / ln(2)^2, k = m / n ln(2)
+        assertThat(filter.bitCount()).isEqualTo(958_506);
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThat(BloomFilter.create(1, 0.5).bitCount()).isEqualTo(Long.SIZE);
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+        assertThatThrownBy(() -> BloomFilter.create(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void neverReturnsFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user:" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user:" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void keepsFalsePositiveRateNearConfiguredRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user:" + i);
+        }
+
+        int falsePositives = 0;
+        int lookups = 100_000;
+        for (int i = 0; i < lookups; i++) {
+            if (filter.mightContain("missing:" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / lookups).isLessThan(0.015);
+    }
+
+    @Test
+    void hashesKeysToDistinctBitsWithinTheFilter() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        long[] bits = filter.bits("user:42");
+        assertThat(bits).hasSize(filter.hashCount()).doesNotHaveDuplicates();
+        for (long bit : bits) {
+            assertThat(bit).isBetween(0L, filter.bitCount() - 1);
+        }
+        assertThat(filter.bits("user:42")).isEqualTo(bits);
+        assertThat(filter.bits("user:43")).isNotEqualTo(bits);
+    }
+
+    @Test
+    void mergesFiltersOfTheSameSize() {
+        BloomFilter first = BloomFilter.create(1_000, 0.01);
+        BloomFilter second = BloomFilter.create(1_000, 0.01);
+        first.put("a");
+        second.put("b");
+
+        first.merge(second);
+
+        assertThat(first.mightContain("a")).isTrue();
+        assertThat(first.mightContain("b")).isTrue();
+        assertThatThrownBy(() -> first.merge(BloomFilter.create(2_000, 0.01))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void roundTripsThroughRedisBitmapLayout() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        filter.put("a");
+        filter.put("b");
+
+        byte[] bitmap = filter.toBitmap();
+        long bit = filter.bits("a")[0];
+        // Redis numbers bits from the most significant bit of the first byte
+        assertThat(bitmap[(int) (bit / 8)] & (0x80 >>> (bit % 8))).isNotZero();
+
+        BloomFilter copy = BloomFilter.create(1_000, 0.01);
+        copy.merge(bitmap);
+        assertThat(copy.mightContain("a")).isTrue();
+        assertThat(copy.mightContain("b")).isTrue();
+        assertThat(copy.toBitmap()).isEqualTo(bitmap);
+    }
+}
@@ -0,0 +1,127 @@
+package com.thales.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheCircuitBreakerTest {
+
+    private static CacheProperties.CircuitBreaker properties(Duration openDuration) {
+        CacheProperties.CircuitBreaker properties = new CacheProperties.CircuitBreaker();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setSlowCallDuration(Duration.ofMillis(100));
+        properties.setOpenDuration(openDuration);
+        properties.setHalfOpenCalls(3);
+        return properties;
+    }
+
+    private static void record(CacheCircuitBreaker breaker, boolean... failures) {
+        for (boolean failure : failures) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            if (failure) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess(0);
+            }
+        }
+    }
+
+    private static CacheCircuitBreaker opened(Duration openDuration) {
+        CacheCircuitBreaker breaker = new CacheCircuitBreaker("test", properties(openDuration));
+        record(breaker, true, true, true, true);
+        assertThat(breaker.getState()).isEqualTo(CacheCircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    @Test
+    void opensOnlyOnceMinimumCallsAreRecorded() {
+        CacheCircuitBreaker breaker = new CacheCircuitBreaker("test", properties(Duration.ofMinutes(1)));
+
+        record(breaker, false, true, true);
+        assertThat(breaker.isClosed()).isTrue();
+
+        record(breaker, true);
+        assertThat(breaker.getState()).isEqualTo(CacheCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void countsSlowCallsAsFailures() {
+        CacheCircuitBreaker breaker = new CacheCircuitBreaker("test", properties(Duration.ofMinutes(1)));
+        record(breaker, false, false);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onSuccess(Duration.ofMillis(200).toNanos());
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CacheCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void forgetsOutcomesThatLeftTheWindow() {
+        CacheCircuitBreaker breaker = new CacheCircuitBreaker("test", properties(Duration.ofMinutes(1)));
+
+        // The first failure leaves the window of 4 before the next two enter it
+        record(breaker, true, false, false, false, false);
+        record(breaker, true);
+        assertThat(breaker.isClosed()).isTrue();
+
+        // 2 of the last 4 calls failed
+        record(breaker, true);
+        assertThat(breaker.getState()).isEqualTo(CacheCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void letsHalfOpenCallsThroughAfterOpenDuration() {
+        CacheCircuitBreaker breaker = opened(Duration.ZERO);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CacheCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void closesOnceAllProbesSucceed() {
+        CacheCircuitBreaker breaker = opened(Duration.ZERO);
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+        }
+
+        breaker.onSuccess(0);
+        breaker.onSuccess(0);
+        assertThat(breaker.getState()).isEqualTo(CacheCircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess(0);
+
+        assertThat(breaker.isClosed()).isTrue();
+        // The window starts empty again
+        record(breaker, true, true, true);
+        assertThat(breaker.isClosed()).isTrue();
+    }
+
+    @Test
+    void reopensWhenAProbeFails() {
+        CacheCircuitBreaker breaker = opened(Duration.ZERO);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess(0);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CacheCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void rejectsCallsWhileOpen() {
+        CacheCircuitBreaker breaker = opened(Duration.ofMinutes(1));
+
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(CacheCircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,80 @@
+package com.thales.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+    private static final int VIRTUAL_NODES = 160;
+
+    private static ConsistentHashRing<String> ring(String... nodes) {
+        Map<String, String> byId = new LinkedHashMap<>();
+        for (String node : nodes) {
+            byId.put(node, node);
+        }
+        return new ConsistentHashRing<>(byId, VIRTUAL_NODES);
+    }
+
+    private static byte[] key(int i) {
+        return ("app:users::" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void movesAboutOneNthOfTheKeysToAnAddedNode() {
+        ConsistentHashRing<String> before = ring("redis-1:6379", "redis-2:6379", "redis-3:6379");
+        ConsistentHashRing<String> after = ring("redis-1:6379", "redis-2:6379", "redis-3:6379", "redis-4:6379");
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String owner = after.nodeFor(key(i));
+            if (!owner.equals(before.nodeFor(key(i)))) {
+                assertThat(owner).isEqualTo("redis-4:6379");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 4 - KEYS / 20, KEYS / 4 + KEYS / 20);
+    }
+
+    @Test
+    void movesOnlyTheKeysOfARemovedNode() {
+        ConsistentHashRing<String> before = ring("redis-1:6379", "redis-2:6379", "redis-3:6379", "redis-4:6379");
+        ConsistentHashRing<String> after = ring("redis-1:6379", "redis-2:6379", "redis-4:6379");
+
+        for (int i = 0; i < KEYS; i++) {
+            String owner = before.nodeFor(key(i));
+            if (!owner.equals("redis-3:6379")) {
+                assertThat(after.nodeFor(key(i))).isEqualTo(owner);
+            }
+        }
+    }
+
+    @Test
+    void spreadsKeysEvenlyWithTheDefaultVirtualNodes() {
+        ConsistentHashRing<String> ring = ring("redis-1:6379", "redis-2:6379", "redis-3:6379", "redis-4:6379");
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.nodeFor(key(i)), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(4);
+        // With 160 points per node, each node's share stays within about 20% of the mean
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 4 * 8 / 10, KEYS / 4 * 12 / 10));
+    }
+
+    @Test
+    void rejectsAnEmptyRing() {
+        assertThatThrownBy(() -> new ConsistentHashRing<>(Map.of(), VIRTUAL_NODES))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing<>(Map.of("redis-1:6379", "redis-1:6379"), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
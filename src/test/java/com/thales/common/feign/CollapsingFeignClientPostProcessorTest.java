@@ -0,0 +1,108 @@
+package com.thales.common.feign;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CollapsingFeignClientPostProcessorTest {
+
+    private final CollapsingFeignClientPostProcessor postProcessor = new CollapsingFeignClientPostProcessor();
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        postProcessor.destroy();
+        callers.shutdownNow();
+    }
+
+    @FeignClient(name = "items")
+    interface ItemClient {
+
+        @CollapsedBy(batchMethod = "getItems", windowMillis = 200)
+        String getItem(Long id);
+
+        Map<Long, String> getItems(Collection<Long> ids);
+    }
+
+    /**
+     * Answers each id with the Authorization header the batch call was made with, and fails for "expired".
+     */
+    static class FakeItemClient implements ItemClient {
+
+        private final List<String> batches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String getItem(Long id) {
+            throw new UnsupportedOperationException("Calls must be collapsed");
+        }
+
+        @Override
+        public Map<Long, String> getItems(Collection<Long> ids) {
+            String token = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes())
+                    .getRequest().getHeader("Authorization");
+            batches.add(token + new TreeSet<>(ids));
+            if (token.equals("expired")) {
+                throw new IllegalStateException("401 Unauthorized");
+            }
+            return ids.stream().collect(Collectors.toMap(Function.identity(), id -> token + ":" + id));
+        }
+    }
+
+    private CompletableFuture<String> call(ItemClient client, String token, long id) {
+        return CompletableFuture.supplyAsync(() -> {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("Authorization", token);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                return client.getItem(id);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }, callers);
+    }
+
+    @Test
+    void sendsOneBatchPerAuthorizationScopeWithThatScopesToken() {
+        FakeItemClient target = new FakeItemClient();
+        ItemClient client = (ItemClient) postProcessor.postProcessAfterInitialization(target, "itemClient");
+
+        CompletableFuture<String> alice1 = call(client, "alice", 1);
+        CompletableFuture<String> bob2 = call(client, "bob", 2);
+        CompletableFuture<String> alice3 = call(client, "alice", 3);
+
+        assertThat(alice1.join()).isEqualTo("alice:1");
+        assertThat(bob2.join()).isEqualTo("bob:2");
+        assertThat(alice3.join()).isEqualTo("alice:3");
+        assertThat(target.batches).containsExactlyInAnyOrder("alice[1, 3]", "bob[2]");
+    }
+
+    @Test
+    void failsOnlyTheCallsOfTheFailingScope() {
+        FakeItemClient target = new FakeItemClient();
+        ItemClient client = (ItemClient) postProcessor.postProcessAfterInitialization(target, "itemClient");
+
+        CompletableFuture<String> expired = call(client, "expired", 1);
+        CompletableFuture<String> alice = call(client, "alice", 1);
+
+        assertThat(alice.join()).isEqualTo("alice:1");
+        assertThatThrownBy(expired::join).hasRootCauseMessage("401 Unauthorized");
+        assertThat(target.batches).containsExactlyInAnyOrder("expired[1]", "alice[1]");
+    }
+}